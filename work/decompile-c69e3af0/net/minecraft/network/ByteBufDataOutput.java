@@ -0,0 +1,116 @@
+package net.minecraft.network;
+
+import io.netty.buffer.ByteBuf;
+import java.io.DataOutput;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+
+public class ByteBufDataOutput implements DataOutput {
+
+    private final ByteBuf buffer;
+
+    public ByteBufDataOutput(ByteBuf bytebuf) {
+        this.buffer = bytebuf;
+    }
+
+    public void write(int i) {
+        this.buffer.writeByte(i);
+    }
+
+    public void write(byte[] abyte) {
+        this.buffer.writeBytes(abyte);
+    }
+
+    public void write(byte[] abyte, int i, int j) {
+        this.buffer.writeBytes(abyte, i, j);
+    }
+
+    public void writeBoolean(boolean flag) {
+        this.buffer.writeBoolean(flag);
+    }
+
+    public void writeByte(int i) {
+        this.buffer.writeByte(i);
+    }
+
+    public void writeShort(int i) {
+        this.buffer.writeShort(i);
+    }
+
+    public void writeChar(int i) {
+        this.buffer.writeChar(i);
+    }
+
+    public void writeInt(int i) {
+        this.buffer.writeInt(i);
+    }
+
+    public void writeLong(long i) {
+        this.buffer.writeLong(i);
+    }
+
+    public void writeFloat(float f) {
+        this.buffer.writeFloat(f);
+    }
+
+    public void writeDouble(double d0) {
+        this.buffer.writeDouble(d0);
+    }
+
+    public void writeBytes(String s) {
+        this.buffer.writeCharSequence(s, StandardCharsets.ISO_8859_1);
+    }
+
+    public void writeChars(String s) {
+        for (int i = 0; i < s.length(); ++i) {
+            this.buffer.writeChar(s.charAt(i));
+        }
+
+    }
+
+    public void writeUTF(String s) throws UTFDataFormatException {
+        int i = s.length();
+        int j = getModifiedUtfLength(s);
+
+        if (j > 65535) {
+            throw new UTFDataFormatException("Encoded string too long: " + j + " bytes");
+        } else {
+            this.buffer.writeShort(j);
+            if (j == i) {
+                this.buffer.writeCharSequence(s, StandardCharsets.US_ASCII);
+            } else {
+                this.buffer.ensureWritable(j);
+
+                for (int k = 0; k < i; ++k) {
+                    char c0 = s.charAt(k);
+
+                    if (c0 >= 1 && c0 < 128) {
+                        this.buffer.writeByte(c0);
+                    } else if (c0 < 2048) {
+                        this.buffer.writeByte(192 | c0 >> 6 & 31);
+                        this.buffer.writeByte(128 | c0 & 63);
+                    } else {
+                        this.buffer.writeByte(224 | c0 >> 12 & 15);
+                        this.buffer.writeByte(128 | c0 >> 6 & 63);
+                        this.buffer.writeByte(128 | c0 & 63);
+                    }
+                }
+            }
+
+        }
+    }
+
+    private static int getModifiedUtfLength(String s) {
+        int i = s.length();
+
+        for (int j = 0; j < s.length(); ++j) {
+            char c0 = s.charAt(j);
+
+            if (c0 == 0 || c0 >= 128) {
+                i += c0 >= 2048 ? 2 : 1;
+            }
+        }
+
+        return i;
+    }
+}
@@ -27,6 +27,8 @@ import io.netty.handler.timeout.TimeoutException;
 import io.netty.util.AttributeKey;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.RejectedExecutionException;
 import javax.annotation.Nullable;
@@ -61,6 +63,7 @@ public class NetworkManager extends SimpleChannelInboundHandler<Packet<?>> {
         marker.add(NetworkManager.PACKET_MARKER);
     });
     public static final AttributeKey<EnumProtocol> ATTRIBUTE_PROTOCOL = AttributeKey.valueOf("protocol");
+    public static final AttributeKey<PacketMetrics> ATTRIBUTE_METRICS = AttributeKey.valueOf("metrics");
     public static final LazyInitVar<NioEventLoopGroup> NETWORK_WORKER_GROUP = new LazyInitVar<>(() -> {
         return new NioEventLoopGroup(0, (new ThreadFactoryBuilder()).setNameFormat("Netty Client IO #%d").setDaemon(true).build());
     });
@@ -186,6 +189,46 @@ public class NetworkManager extends SimpleChannelInboundHandler<Packet<?>> {
 
     }
 
+    public void sendBatch(List<Packet<?>> list) {
+        if (this.isConnected()) {
+            this.flushQueue();
+            this.sentPackets += list.size();
+            if (this.channel.eventLoop().inEventLoop()) {
+                this.doSendBatch(list);
+            } else {
+                this.channel.eventLoop().execute(() -> {
+                    this.doSendBatch(list);
+                });
+            }
+        } else {
+            Iterator iterator = list.iterator();
+
+            while (iterator.hasNext()) {
+                this.send((Packet) iterator.next());
+            }
+        }
+
+    }
+
+    private void doSendBatch(List<Packet<?>> list) {
+        EnumProtocol enumprotocol = this.getCurrentProtocol();
+        Iterator iterator = list.iterator();
+
+        while (iterator.hasNext()) {
+            Packet<?> packet = (Packet) iterator.next();
+            EnumProtocol enumprotocol1 = EnumProtocol.getProtocolForPacket(packet);
+
+            if (enumprotocol1 != enumprotocol) {
+                this.doSendPacket(packet, (PacketSendListener) null, enumprotocol1, enumprotocol);
+                enumprotocol = enumprotocol1;
+            } else {
+                this.channel.write(packet).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+            }
+        }
+
+        this.channel.flush();
+    }
+
     private void sendPacket(Packet<?> packet, @Nullable PacketSendListener packetsendlistener) {
         EnumProtocol enumprotocol = EnumProtocol.getProtocolForPacket(packet);
         EnumProtocol enumprotocol1 = this.getCurrentProtocol();
@@ -425,6 +468,11 @@ public class NetworkManager extends SimpleChannelInboundHandler<Packet<?>> {
         return this.averageSentPackets;
     }
 
+    @Nullable
+    public PacketMetrics getMetrics() {
+        return this.channel == null ? null : (PacketMetrics) this.channel.attr(NetworkManager.ATTRIBUTE_METRICS).get();
+    }
+
     private static class QueuedPacket {
 
         final Packet<?> packet;
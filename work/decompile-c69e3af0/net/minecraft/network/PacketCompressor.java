@@ -18,6 +18,8 @@ public class PacketCompressor extends MessageToByteEncoder<ByteBuf> {
 
     protected void encode(ChannelHandlerContext channelhandlercontext, ByteBuf bytebuf, ByteBuf bytebuf1) {
         int i = bytebuf.readableBytes();
+        int k = bytebuf1.writerIndex();
+        long l = System.nanoTime();
         PacketDataSerializer packetdataserializer = new PacketDataSerializer(bytebuf1);
 
         if (i < this.threshold) {
@@ -40,6 +42,12 @@ public class PacketCompressor extends MessageToByteEncoder<ByteBuf> {
             this.deflater.reset();
         }
 
+        PacketMetrics packetmetrics = (PacketMetrics) channelhandlercontext.channel().attr(NetworkManager.ATTRIBUTE_METRICS).get();
+
+        if (packetmetrics != null) {
+            packetmetrics.onCompressed(bytebuf1.writerIndex() - k, System.nanoTime() - l);
+        }
+
     }
 
     public int getThreshold() {
@@ -11,7 +11,7 @@ import com.mojang.serialization.Codec;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufInputStream;
-import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.EncoderException;
 import io.netty.util.ByteProcessor;
@@ -79,6 +79,8 @@ public class PacketDataSerializer extends ByteBuf {
     private static final int MAX_VARINT_SIZE = 5;
     private static final int MAX_VARLONG_SIZE = 10;
     public static final int DEFAULT_NBT_QUOTA = 2097152;
+    private static final byte[] VARINT_SIZES = createVarSizes(32);
+    private static final byte[] VARLONG_SIZES = createVarSizes(64);
     private final ByteBuf source;
     public static final short MAX_STRING_LENGTH = 32767;
     public static final int MAX_COMPONENT_STRING_LENGTH = 262144;
@@ -91,23 +93,21 @@ public class PacketDataSerializer extends ByteBuf {
     }
 
     public static int getVarIntSize(int i) {
-        for (int j = 1; j < 5; ++j) {
-            if ((i & -1 << j * 7) == 0) {
-                return j;
-            }
-        }
-
-        return 5;
+        return PacketDataSerializer.VARINT_SIZES[Integer.numberOfLeadingZeros(i)];
     }
 
     public static int getVarLongSize(long i) {
-        for (int j = 1; j < 10; ++j) {
-            if ((i & -1L << j * 7) == 0L) {
-                return j;
-            }
+        return PacketDataSerializer.VARLONG_SIZES[Long.numberOfLeadingZeros(i)];
+    }
+
+    private static byte[] createVarSizes(int i) {
+        byte[] abyte = new byte[i + 1];
+
+        for (int j = 0; j <= i; ++j) {
+            abyte[j] = (byte) Math.max(1, (i - j + 6) / 7);
         }
 
-        return 10;
+        return abyte;
     }
 
     /** @deprecated */
@@ -507,6 +507,10 @@ public class PacketDataSerializer extends ByteBuf {
     }
 
     public int readVarInt() {
+        if (this.source.readableBytes() >= 5) {
+            return this.readVarIntUnrolled();
+        }
+
         int i = 0;
         int j = 0;
 
@@ -523,6 +527,47 @@ public class PacketDataSerializer extends ByteBuf {
         return i;
     }
 
+    private int readVarIntUnrolled() {
+        int i = this.source.readerIndex();
+        byte b0 = this.source.getByte(i);
+
+        if (b0 >= 0) {
+            this.source.readerIndex(i + 1);
+            return b0;
+        } else {
+            int j = b0 & 127;
+
+            b0 = this.source.getByte(i + 1);
+            j |= (b0 & 127) << 7;
+            if (b0 >= 0) {
+                this.source.readerIndex(i + 2);
+                return j;
+            } else {
+                b0 = this.source.getByte(i + 2);
+                j |= (b0 & 127) << 14;
+                if (b0 >= 0) {
+                    this.source.readerIndex(i + 3);
+                    return j;
+                } else {
+                    b0 = this.source.getByte(i + 3);
+                    j |= (b0 & 127) << 21;
+                    if (b0 >= 0) {
+                        this.source.readerIndex(i + 4);
+                        return j;
+                    } else {
+                        b0 = this.source.getByte(i + 4);
+                        if (b0 < 0) {
+                            throw new RuntimeException("VarInt too big");
+                        } else {
+                            this.source.readerIndex(i + 5);
+                            return j | b0 << 28;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     public long readVarLong() {
         long i = 0L;
         int j = 0;
@@ -551,12 +596,19 @@ public class PacketDataSerializer extends ByteBuf {
     }
 
     public PacketDataSerializer writeVarInt(int i) {
-        while ((i & -128) != 0) {
-            this.writeByte(i & 127 | 128);
-            i >>>= 7;
+        if ((i & -128) == 0) {
+            this.source.writeByte(i);
+        } else if ((i & -16384) == 0) {
+            this.source.writeShort((i & 127 | 128) << 8 | i >>> 7);
+        } else if ((i & -2097152) == 0) {
+            this.source.writeMedium((i & 127 | 128) << 16 | (i >>> 7 & 127 | 128) << 8 | i >>> 14);
+        } else if ((i & -268435456) == 0) {
+            this.source.writeInt((i & 127 | 128) << 24 | (i >>> 7 & 127 | 128) << 16 | (i >>> 14 & 127 | 128) << 8 | i >>> 21);
+        } else {
+            this.source.writeInt((i & 127 | 128) << 24 | (i >>> 7 & 127 | 128) << 16 | (i >>> 14 & 127 | 128) << 8 | i >>> 21 & 127 | 128);
+            this.source.writeByte(i >>> 28);
         }
 
-        this.writeByte(i);
         return this;
     }
 
@@ -575,7 +627,7 @@ public class PacketDataSerializer extends ByteBuf {
             this.writeByte(0);
         } else {
             try {
-                NBTCompressedStreamTools.write(nbttagcompound, (DataOutput) (new ByteBufOutputStream(this)));
+                NBTCompressedStreamTools.write(nbttagcompound, (DataOutput) (new ByteBufDataOutput(this.source)));
             } catch (IOException ioexception) {
                 throw new EncoderException(ioexception);
             }
@@ -682,14 +734,14 @@ public class PacketDataSerializer extends ByteBuf {
 
             throw new EncoderException("String too big (was " + j + " characters, max " + i + ")");
         } else {
-            byte[] abyte = s.getBytes(StandardCharsets.UTF_8);
-            int k = getMaxEncodedUtfLength(i);
+            int k = ByteBufUtil.utf8Bytes(s);
+            int l = getMaxEncodedUtfLength(i);
 
-            if (abyte.length > k) {
-                throw new EncoderException("String too big (was " + abyte.length + " bytes encoded, max " + k + ")");
+            if (k > l) {
+                throw new EncoderException("String too big (was " + k + " bytes encoded, max " + l + ")");
             } else {
-                this.writeVarInt(abyte.length);
-                this.writeBytes(abyte);
+                this.writeVarInt(k);
+                ByteBufUtil.reserveAndWriteUtf8(this.source, s, k);
                 return this;
             }
         }
@@ -34,6 +34,12 @@ public class PacketDecoder extends ByteToMessageDecoder {
                 int k = ((EnumProtocol) channelhandlercontext.channel().attr(NetworkManager.ATTRIBUTE_PROTOCOL).get()).getId();
 
                 JvmProfiler.INSTANCE.onPacketReceived(k, j, channelhandlercontext.channel().remoteAddress(), i);
+                PacketMetrics packetmetrics = (PacketMetrics) channelhandlercontext.channel().attr(NetworkManager.ATTRIBUTE_METRICS).get();
+
+                if (packetmetrics != null) {
+                    packetmetrics.onDecoded((EnumProtocol) channelhandlercontext.channel().attr(NetworkManager.ATTRIBUTE_PROTOCOL).get(), this.flow, packet.getClass(), i);
+                }
+
                 if (packetdataserializer.readableBytes() > 0) {
                     int l = ((EnumProtocol) channelhandlercontext.channel().attr(NetworkManager.ATTRIBUTE_PROTOCOL).get()).getId();
 
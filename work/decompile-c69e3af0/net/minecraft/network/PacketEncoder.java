@@ -40,6 +40,7 @@ public class PacketEncoder extends MessageToByteEncoder<Packet<?>> {
 
                 try {
                     int i = packetdataserializer.writerIndex();
+                    long l = System.nanoTime();
 
                     packet.write(packetdataserializer);
                     int j = packetdataserializer.writerIndex() - i;
@@ -50,6 +51,11 @@ public class PacketEncoder extends MessageToByteEncoder<Packet<?>> {
                         int k = ((EnumProtocol) channelhandlercontext.channel().attr(NetworkManager.ATTRIBUTE_PROTOCOL).get()).getId();
 
                         JvmProfiler.INSTANCE.onPacketSent(k, integer, channelhandlercontext.channel().remoteAddress(), j);
+                        PacketMetrics packetmetrics = (PacketMetrics) channelhandlercontext.channel().attr(NetworkManager.ATTRIBUTE_METRICS).get();
+
+                        if (packetmetrics != null) {
+                            packetmetrics.onEncoded(enumprotocol, this.flow, packet.getClass(), j + PacketDataSerializer.getVarIntSize(integer), System.nanoTime() - l);
+                        }
                     }
                 } catch (Throwable throwable) {
                     PacketEncoder.LOGGER.error("Error receiving packet {}", integer, throwable);
@@ -13,6 +13,12 @@ public class PacketEncrypter extends MessageToByteEncoder<ByteBuf> {
         this.cipher = new PacketEncryptionHandler(cipher);
     }
 
+    protected ByteBuf allocateBuffer(ChannelHandlerContext channelhandlercontext, ByteBuf bytebuf, boolean flag) {
+        int i = bytebuf.readableBytes();
+
+        return bytebuf.isDirect() ? channelhandlercontext.alloc().directBuffer(i) : channelhandlercontext.alloc().heapBuffer(i);
+    }
+
     protected void encode(ChannelHandlerContext channelhandlercontext, ByteBuf bytebuf, ByteBuf bytebuf1) throws Exception {
         this.cipher.encipher(bytebuf, bytebuf1);
     }
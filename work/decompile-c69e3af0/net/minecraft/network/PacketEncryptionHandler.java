@@ -2,6 +2,7 @@ package net.minecraft.network;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import java.nio.ByteBuffer;
 import javax.crypto.Cipher;
 import javax.crypto.ShortBufferException;
 
@@ -28,22 +29,48 @@ public class PacketEncryptionHandler {
 
     protected ByteBuf decipher(ChannelHandlerContext channelhandlercontext, ByteBuf bytebuf) throws ShortBufferException {
         int i = bytebuf.readableBytes();
-        byte[] abyte = this.bufToByte(bytebuf);
-        ByteBuf bytebuf1 = channelhandlercontext.alloc().heapBuffer(this.cipher.getOutputSize(i));
+        ByteBuf bytebuf1 = bytebuf.isDirect() ? channelhandlercontext.alloc().directBuffer(this.cipher.getOutputSize(i)) : channelhandlercontext.alloc().heapBuffer(this.cipher.getOutputSize(i));
+
+        try {
+            this.update(bytebuf, bytebuf1);
+        } catch (ShortBufferException shortbufferexception) {
+            bytebuf1.release();
+            throw shortbufferexception;
+        }
 
-        bytebuf1.writerIndex(this.cipher.update(abyte, 0, i, bytebuf1.array(), bytebuf1.arrayOffset()));
         return bytebuf1;
     }
 
     protected void encipher(ByteBuf bytebuf, ByteBuf bytebuf1) throws ShortBufferException {
+        bytebuf1.ensureWritable(this.cipher.getOutputSize(bytebuf.readableBytes()));
+        this.update(bytebuf, bytebuf1);
+    }
+
+    private void update(ByteBuf bytebuf, ByteBuf bytebuf1) throws ShortBufferException {
         int i = bytebuf.readableBytes();
-        byte[] abyte = this.bufToByte(bytebuf);
         int j = this.cipher.getOutputSize(i);
 
-        if (this.heapOut.length < j) {
-            this.heapOut = new byte[j];
+        if (bytebuf.hasArray() && bytebuf1.hasArray()) {
+            int k = this.cipher.update(bytebuf.array(), bytebuf.arrayOffset() + bytebuf.readerIndex(), i, bytebuf1.array(), bytebuf1.arrayOffset() + bytebuf1.writerIndex());
+
+            bytebuf.skipBytes(i);
+            bytebuf1.writerIndex(bytebuf1.writerIndex() + k);
+        } else if (bytebuf.nioBufferCount() == 1 && bytebuf1.nioBufferCount() == 1) {
+            ByteBuffer bytebuffer = bytebuf.nioBuffer(bytebuf.readerIndex(), i);
+            ByteBuffer bytebuffer1 = bytebuf1.nioBuffer(bytebuf1.writerIndex(), j);
+            int k = this.cipher.update(bytebuffer, bytebuffer1);
+
+            bytebuf.skipBytes(i);
+            bytebuf1.writerIndex(bytebuf1.writerIndex() + k);
+        } else {
+            byte[] abyte = this.bufToByte(bytebuf);
+
+            if (this.heapOut.length < j) {
+                this.heapOut = new byte[j];
+            }
+
+            bytebuf1.writeBytes(this.heapOut, 0, this.cipher.update(abyte, 0, i, this.heapOut));
         }
 
-        bytebuf1.writeBytes(this.heapOut, 0, this.cipher.update(abyte, 0, i, this.heapOut));
     }
 }
@@ -0,0 +1,233 @@
+package net.minecraft.network;
+
+import com.google.common.collect.Lists;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+import net.minecraft.network.protocol.EnumProtocolDirection;
+
+public class PacketMetrics {
+
+    public static final Comparator<PacketMetrics.PacketType> BY_WIRE_BYTES = Comparator.comparingLong(PacketMetrics.PacketType::getWireBytes).reversed();
+    @Nullable
+    private final PacketMetrics parent;
+    private final Map<Class<?>, PacketMetrics.PacketType> packetTypes = new ConcurrentHashMap();
+    private final PacketMetrics.Histogram encodeTime = new PacketMetrics.Histogram();
+    private final PacketMetrics.Histogram compressTime = new PacketMetrics.Histogram();
+    @Nullable
+    private PacketMetrics.PacketType pendingCompression;
+    private int pendingCompressionSize;
+
+    public PacketMetrics(@Nullable PacketMetrics packetmetrics) {
+        this.parent = packetmetrics;
+    }
+
+    private PacketMetrics.PacketType getType(EnumProtocol enumprotocol, EnumProtocolDirection enumprotocoldirection, Class<?> oclass) {
+        return (PacketMetrics.PacketType) this.packetTypes.computeIfAbsent(oclass, (oclass1) -> {
+            return new PacketMetrics.PacketType(enumprotocol, enumprotocoldirection, oclass1);
+        });
+    }
+
+    public void onEncoded(EnumProtocol enumprotocol, EnumProtocolDirection enumprotocoldirection, Class<?> oclass, int i, long j) {
+        PacketMetrics.PacketType packetmetrics_packettype = this.getType(enumprotocol, enumprotocoldirection, oclass);
+
+        packetmetrics_packettype.record(i, j);
+        this.encodeTime.record(j);
+        this.pendingCompression = packetmetrics_packettype;
+        this.pendingCompressionSize = i;
+        if (this.parent != null) {
+            this.parent.getType(enumprotocol, enumprotocoldirection, oclass).record(i, j);
+            this.parent.encodeTime.record(j);
+        }
+
+    }
+
+    public void onCompressed(int i, long j) {
+        PacketMetrics.PacketType packetmetrics_packettype = this.pendingCompression;
+
+        this.compressTime.record(j);
+        if (this.parent != null) {
+            this.parent.compressTime.record(j);
+        }
+
+        if (packetmetrics_packettype != null) {
+            int k = i - this.pendingCompressionSize;
+
+            this.pendingCompression = null;
+            packetmetrics_packettype.wireBytes.add((long) k);
+            if (this.parent != null) {
+                this.parent.getType(packetmetrics_packettype.protocol, packetmetrics_packettype.flow, packetmetrics_packettype.packetClass).wireBytes.add((long) k);
+            }
+        }
+
+    }
+
+    public void onDecoded(EnumProtocol enumprotocol, EnumProtocolDirection enumprotocoldirection, Class<?> oclass, int i) {
+        this.getType(enumprotocol, enumprotocoldirection, oclass).record(i, 0L);
+        if (this.parent != null) {
+            this.parent.getType(enumprotocol, enumprotocoldirection, oclass).record(i, 0L);
+        }
+
+    }
+
+    public List<PacketMetrics.PacketType> getPacketTypes() {
+        List<PacketMetrics.PacketType> list = Lists.newArrayList(this.packetTypes.values());
+
+        list.sort(PacketMetrics.BY_WIRE_BYTES);
+        return list;
+    }
+
+    public long getTotalPackets(EnumProtocolDirection enumprotocoldirection) {
+        return this.packetTypes.values().stream().filter((packetmetrics_packettype) -> {
+            return packetmetrics_packettype.flow == enumprotocoldirection;
+        }).mapToLong(PacketMetrics.PacketType::getPackets).sum();
+    }
+
+    public long getTotalBytes(EnumProtocolDirection enumprotocoldirection) {
+        return this.packetTypes.values().stream().filter((packetmetrics_packettype) -> {
+            return packetmetrics_packettype.flow == enumprotocoldirection;
+        }).mapToLong(PacketMetrics.PacketType::getBytes).sum();
+    }
+
+    public long getTotalWireBytes(EnumProtocolDirection enumprotocoldirection) {
+        return this.packetTypes.values().stream().filter((packetmetrics_packettype) -> {
+            return packetmetrics_packettype.flow == enumprotocoldirection;
+        }).mapToLong(PacketMetrics.PacketType::getWireBytes).sum();
+    }
+
+    public PacketMetrics.Histogram getEncodeTime() {
+        return this.encodeTime;
+    }
+
+    public PacketMetrics.Histogram getCompressTime() {
+        return this.compressTime;
+    }
+
+    public void reset() {
+        this.packetTypes.clear();
+        this.encodeTime.reset();
+        this.compressTime.reset();
+    }
+
+    public static class PacketType {
+
+        final EnumProtocol protocol;
+        final EnumProtocolDirection flow;
+        final Class<?> packetClass;
+        private final LongAdder packets = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        final LongAdder wireBytes = new LongAdder();
+        private final LongAdder encodeNanos = new LongAdder();
+
+        PacketType(EnumProtocol enumprotocol, EnumProtocolDirection enumprotocoldirection, Class<?> oclass) {
+            this.protocol = enumprotocol;
+            this.flow = enumprotocoldirection;
+            this.packetClass = oclass;
+        }
+
+        void record(int i, long j) {
+            this.packets.increment();
+            this.bytes.add((long) i);
+            this.wireBytes.add((long) i);
+            this.encodeNanos.add(j);
+        }
+
+        public EnumProtocol getProtocol() {
+            return this.protocol;
+        }
+
+        public EnumProtocolDirection getFlow() {
+            return this.flow;
+        }
+
+        public Class<?> getPacketClass() {
+            return this.packetClass;
+        }
+
+        public long getPackets() {
+            return this.packets.sum();
+        }
+
+        public long getBytes() {
+            return this.bytes.sum();
+        }
+
+        public long getWireBytes() {
+            return this.wireBytes.sum();
+        }
+
+        public long getEncodeNanos() {
+            return this.encodeNanos.sum();
+        }
+
+        public String format() {
+            long i = this.getPackets();
+
+            return String.format(Locale.ROOT, "%s %s %s: %d packets, %d bytes, %d on wire, %.1f us/encode", this.flow == EnumProtocolDirection.CLIENTBOUND ? "OUT" : "IN", this.protocol.name(), this.packetClass.getSimpleName(), i, this.getBytes(), this.getWireBytes(), i == 0L ? 0.0D : (double) this.getEncodeNanos() / (double) i / 1000.0D);
+        }
+    }
+
+    public static class Histogram {
+
+        public static final int BUCKETS = 24;
+        private final AtomicLongArray counts = new AtomicLongArray(24);
+
+        public void record(long i) {
+            long j = i / 1000L;
+            int k = j <= 0L ? 0 : Math.min(64 - Long.numberOfLeadingZeros(j), 23);
+
+            this.counts.incrementAndGet(k);
+        }
+
+        public long[] getCounts() {
+            long[] along = new long[24];
+
+            for (int i = 0; i < along.length; ++i) {
+                along[i] = this.counts.get(i);
+            }
+
+            return along;
+        }
+
+        public long getPercentileMicros(double d0) {
+            long[] along = this.getCounts();
+            long i = 0L;
+
+            for (int j = 0; j < along.length; ++j) {
+                i += along[j];
+            }
+
+            if (i == 0L) {
+                return 0L;
+            } else {
+                long k = (long) Math.ceil((double) i * d0);
+                long l = 0L;
+
+                for (int i1 = 0; i1 < along.length; ++i1) {
+                    l += along[i1];
+                    if (l >= k) {
+                        return 1L << i1;
+                    }
+                }
+
+                return 1L << 23;
+            }
+        }
+
+        public String format() {
+            return String.format(Locale.ROOT, "p50 <%dus, p99 <%dus, p999 <%dus", this.getPercentileMicros(0.5D), this.getPercentileMicros(0.99D), this.getPercentileMicros(0.999D));
+        }
+
+        void reset() {
+            for (int i = 0; i < 24; ++i) {
+                this.counts.set(i, 0L);
+            }
+
+        }
+    }
+}
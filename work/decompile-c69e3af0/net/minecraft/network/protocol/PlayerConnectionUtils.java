@@ -1,6 +1,7 @@
 package net.minecraft.network.protocol;
 
 import com.mojang.logging.LogUtils;
+import java.util.function.Predicate;
 import net.minecraft.network.PacketListener;
 import net.minecraft.server.CancelledPacketHandleException;
 import net.minecraft.server.level.WorldServer;
@@ -17,6 +18,17 @@ public class PlayerConnectionUtils {
         ensureRunningOnSameThread(packet, t0, (IAsyncTaskHandler) worldserver.getServer());
     }
 
+    public static <T extends PacketListener, P extends Packet<T>> void ensureRunningOnSameThread(P p0, T t0, WorldServer worldserver, Predicate<P> predicate) throws CancelledPacketHandleException {
+        IAsyncTaskHandler<?> iasynctaskhandler = worldserver.getServer();
+
+        if (!iasynctaskhandler.isSameThread() && !predicate.test(p0)) {
+            PlayerConnectionUtils.LOGGER.debug("Rejected packet before handing it to the main thread: {}", p0);
+            throw CancelledPacketHandleException.RUNNING_ON_DIFFERENT_THREAD;
+        } else {
+            ensureRunningOnSameThread(p0, t0, iasynctaskhandler);
+        }
+    }
+
     public static <T extends PacketListener> void ensureRunningOnSameThread(Packet<T> packet, T t0, IAsyncTaskHandler<?> iasynctaskhandler) throws CancelledPacketHandleException {
         if (!iasynctaskhandler.isSameThread()) {
             iasynctaskhandler.executeIfPossible(() -> {
@@ -2,6 +2,7 @@ package net.minecraft.network.protocol.status;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import javax.annotation.Nullable;
 import net.minecraft.network.PacketDataSerializer;
 import net.minecraft.network.chat.ChatModifier;
 import net.minecraft.network.chat.IChatBaseComponent;
@@ -13,18 +14,30 @@ public class PacketStatusOutServerInfo implements Packet<PacketStatusOutListener
 
     private static final Gson GSON = (new GsonBuilder()).registerTypeAdapter(ServerPing.ServerData.class, new ServerPing.ServerData.Serializer()).registerTypeAdapter(ServerPing.ServerPingPlayerSample.class, new ServerPing.ServerPingPlayerSample.Serializer()).registerTypeAdapter(ServerPing.class, new ServerPing.Serializer()).registerTypeHierarchyAdapter(IChatBaseComponent.class, new IChatBaseComponent.ChatSerializer()).registerTypeHierarchyAdapter(ChatModifier.class, new ChatModifier.ChatModifierSerializer()).registerTypeAdapterFactory(new ChatTypeAdapterFactory()).create();
     private final ServerPing status;
+    @Nullable
+    private final String json;
 
     public PacketStatusOutServerInfo(ServerPing serverping) {
+        this(serverping, (String) null);
+    }
+
+    private PacketStatusOutServerInfo(ServerPing serverping, @Nullable String s) {
         this.status = serverping;
+        this.json = s;
     }
 
     public PacketStatusOutServerInfo(PacketDataSerializer packetdataserializer) {
         this.status = (ServerPing) ChatDeserializer.fromJson(PacketStatusOutServerInfo.GSON, packetdataserializer.readUtf(32767), ServerPing.class);
+        this.json = null;
+    }
+
+    public static PacketStatusOutServerInfo precomputed(ServerPing serverping) {
+        return new PacketStatusOutServerInfo(serverping, PacketStatusOutServerInfo.GSON.toJson(serverping));
     }
 
     @Override
     public void write(PacketDataSerializer packetdataserializer) {
-        packetdataserializer.writeUtf(PacketStatusOutServerInfo.GSON.toJson(this.status));
+        packetdataserializer.writeUtf(this.json != null ? this.json : PacketStatusOutServerInfo.GSON.toJson(this.status));
     }
 
     public void handle(PacketStatusOutListener packetstatusoutlistener) {
@@ -1,6 +1,8 @@
 package net.minecraft.network.syncher;
 
 import com.mojang.logging.LogUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.EncoderException;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
@@ -9,6 +11,7 @@ import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -33,6 +36,9 @@ public class DataWatcher {
     private final Int2ObjectMap<DataWatcher.Item<?>> itemsById = new Int2ObjectOpenHashMap();
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
     private boolean isDirty;
+    @Nullable
+    private List<DataWatcher.b<?>> nonDefaultValues;
+    private boolean nonDefaultValuesValid;
 
     public DataWatcher(Entity entity) {
         this.entity = entity;
@@ -99,6 +105,7 @@ public class DataWatcher {
 
         this.lock.writeLock().lock();
         this.itemsById.put(datawatcherobject.getId(), datawatcher_item);
+        this.nonDefaultValuesValid = false;
         this.lock.writeLock().unlock();
     }
 
@@ -131,6 +138,7 @@ public class DataWatcher {
 
         if (ObjectUtils.notEqual(t0, datawatcher_item.getValue())) {
             datawatcher_item.setValue(t0);
+            this.nonDefaultValuesValid = false;
             this.entity.onSyncedDataUpdated(datawatcherobject);
             datawatcher_item.setDirty(true);
             this.isDirty = true;
@@ -172,24 +180,41 @@ public class DataWatcher {
 
     @Nullable
     public List<DataWatcher.b<?>> getNonDefaultValues() {
-        List<DataWatcher.b<?>> list = null;
+        this.lock.writeLock().lock();
 
-        this.lock.readLock().lock();
-        ObjectIterator objectiterator = this.itemsById.values().iterator();
+        List list;
+
+        try {
+            if (this.nonDefaultValuesValid) {
+                list = this.nonDefaultValues;
+            } else {
+                List<DataWatcher.b<?>> list1 = null;
+                boolean flag = true;
+                ObjectIterator objectiterator = this.itemsById.values().iterator();
+
+                while (objectiterator.hasNext()) {
+                    DataWatcher.Item<?> datawatcher_item = (DataWatcher.Item) objectiterator.next();
 
-        while (objectiterator.hasNext()) {
-            DataWatcher.Item<?> datawatcher_item = (DataWatcher.Item) objectiterator.next();
+                    if (!datawatcher_item.isSetToDefault()) {
+                        if (list1 == null) {
+                            list1 = new ArrayList();
+                        }
 
-            if (!datawatcher_item.isSetToDefault()) {
-                if (list == null) {
-                    list = new ArrayList();
+                        list1.add(datawatcher_item.value());
+                        flag &= datawatcher_item.isCacheable();
+                    }
                 }
 
-                list.add(datawatcher_item.value());
+                list = list1 == null ? null : Collections.unmodifiableList(list1);
+                if (flag) {
+                    this.nonDefaultValues = list;
+                    this.nonDefaultValuesValid = true;
+                }
             }
+        } finally {
+            this.lock.writeLock().unlock();
         }
 
-        this.lock.readLock().unlock();
         return list;
     }
 
@@ -208,6 +233,8 @@ public class DataWatcher {
                     this.entity.onSyncedDataUpdated(datawatcher_item.getAccessor());
                 }
             }
+
+            this.nonDefaultValuesValid = false;
         } finally {
             this.lock.writeLock().unlock();
         }
@@ -232,11 +259,23 @@ public class DataWatcher {
         T value;
         private final T initialValue;
         private boolean dirty;
+        @Nullable
+        private DataWatcher.b<T> packed;
 
         public Item(DataWatcherObject<T> datawatcherobject, T t0) {
             this.accessor = datawatcherobject;
             this.initialValue = t0;
             this.value = t0;
+            this.packed = this.pack(t0);
+        }
+
+        @Nullable
+        private DataWatcher.b<T> pack(T t0) {
+            return this.isCacheable() ? DataWatcher.b.createCached(this.accessor, t0) : null;
+        }
+
+        boolean isCacheable() {
+            return this.accessor.getSerializer() instanceof DataWatcherSerializer.a;
         }
 
         public DataWatcherObject<T> getAccessor() {
@@ -245,6 +284,7 @@ public class DataWatcher {
 
         public void setValue(T t0) {
             this.value = t0;
+            this.packed = this.pack(t0);
         }
 
         public T getValue() {
@@ -264,11 +304,17 @@ public class DataWatcher {
         }
 
         public DataWatcher.b<T> value() {
-            return DataWatcher.b.create(this.accessor, this.value);
+            DataWatcher.b<T> datawatcher_b = this.packed;
+
+            return datawatcher_b != null ? datawatcher_b : DataWatcher.b.create(this.accessor, this.value);
         }
     }
 
-    public static record b<T> (int id, DataWatcherSerializer<T> serializer, T value) {
+    public static record b<T> (int id, DataWatcherSerializer<T> serializer, T value, @Nullable DataWatcher.EncodedValue encoded) {
+
+        public b(int i, DataWatcherSerializer<T> datawatcherserializer, T t0) {
+            this(i, datawatcherserializer, t0, (DataWatcher.EncodedValue) null);
+        }
 
         public static <T> DataWatcher.b<T> create(DataWatcherObject<T> datawatcherobject, T t0) {
             DataWatcherSerializer<T> datawatcherserializer = datawatcherobject.getSerializer();
@@ -276,6 +322,28 @@ public class DataWatcher {
             return new DataWatcher.b<>(datawatcherobject.getId(), datawatcherserializer, datawatcherserializer.copy(t0));
         }
 
+        static <T> DataWatcher.b<T> createCached(DataWatcherObject<T> datawatcherobject, T t0) {
+            DataWatcherSerializer<T> datawatcherserializer = datawatcherobject.getSerializer();
+
+            return new DataWatcher.b<>(datawatcherobject.getId(), datawatcherserializer, datawatcherserializer.copy(t0), new DataWatcher.EncodedValue());
+        }
+
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            } else if (!(object instanceof DataWatcher.b)) {
+                return false;
+            } else {
+                DataWatcher.b<?> datawatcher_b = (DataWatcher.b) object;
+
+                return this.id == datawatcher_b.id && this.serializer.equals(datawatcher_b.serializer) && Objects.equals(this.value, datawatcher_b.value);
+            }
+        }
+
+        public int hashCode() {
+            return Objects.hash(new Object[]{this.id, this.serializer, this.value});
+        }
+
         public void write(PacketDataSerializer packetdataserializer) {
             int i = DataWatcherRegistry.getSerializedId(this.serializer);
 
@@ -284,7 +352,12 @@ public class DataWatcher {
             } else {
                 packetdataserializer.writeByte(this.id);
                 packetdataserializer.writeVarInt(i);
-                this.serializer.write(packetdataserializer, this.value);
+                if (this.encoded != null) {
+                    packetdataserializer.writeBytes(this.encoded.get(this.serializer, this.value));
+                } else {
+                    this.serializer.write(packetdataserializer, this.value);
+                }
+
             }
         }
 
@@ -303,4 +376,32 @@ public class DataWatcher {
             return new DataWatcher.b<>(i, datawatcherserializer, datawatcherserializer.read(packetdataserializer));
         }
     }
+
+    public static final class EncodedValue {
+
+        @Nullable
+        private volatile byte[] bytes;
+
+        EncodedValue() {}
+
+        <T> byte[] get(DataWatcherSerializer<T> datawatcherserializer, T t0) {
+            byte[] abyte = this.bytes;
+
+            if (abyte == null) {
+                ByteBuf bytebuf = Unpooled.buffer();
+
+                try {
+                    datawatcherserializer.write(new PacketDataSerializer(bytebuf), t0);
+                    abyte = new byte[bytebuf.readableBytes()];
+                    bytebuf.readBytes(abyte);
+                } finally {
+                    bytebuf.release();
+                }
+
+                this.bytes = abyte;
+            }
+
+            return abyte;
+        }
+    }
 }
@@ -70,14 +70,22 @@ import net.minecraft.network.chat.ChatMessageType;
 import net.minecraft.network.chat.IChatBaseComponent;
 import net.minecraft.network.protocol.game.PacketPlayOutServerDifficulty;
 import net.minecraft.network.protocol.game.PacketPlayOutUpdateTime;
+import net.minecraft.network.protocol.status.PacketStatusOutServerInfo;
 import net.minecraft.network.protocol.status.ServerPing;
 import net.minecraft.obfuscate.DontObfuscate;
 import net.minecraft.resources.MinecraftKey;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.bossevents.BossBattleCustomData;
+import net.minecraft.server.level.AdaptiveEntityTracker;
+import net.minecraft.server.level.ChunkChangeCoalescer;
+import net.minecraft.server.level.ChunkLoadCancellation;
+import net.minecraft.server.level.ChunkLoadPriority;
+import net.minecraft.server.level.ChunkUnloadCache;
 import net.minecraft.server.level.ChunkProviderServer;
 import net.minecraft.server.level.DemoPlayerInteractManager;
+import net.minecraft.server.level.EntityMovementBatcher;
 import net.minecraft.server.level.EntityPlayer;
+import net.minecraft.server.level.ParallelEntityTracker;
 import net.minecraft.server.level.PlayerInteractManager;
 import net.minecraft.server.level.TicketType;
 import net.minecraft.server.level.WorldProviderNormal;
@@ -226,6 +234,9 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
     private long lastOverloadWarning;
     protected final Services services;
     private long lastServerStatus;
+    private boolean statusDirty = true;
+    @Nullable
+    private volatile PacketStatusOutServerInfo statusPacket;
     public final Thread serverThread;
     private long nextTickTime;
     private long delayedTasksMaxNextTickTime;
@@ -887,8 +898,9 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
 
         ++this.tickCount;
         this.tickChildren(booleansupplier);
-        if (i - this.lastServerStatus >= 5000000000L) {
+        if (i - this.lastServerStatus >= 5000000000L && (this.statusDirty || this.getPlayerCount() > 12 && !this.hidesOnlinePlayers())) {
             this.lastServerStatus = i;
+            this.statusDirty = false;
             this.status.setPlayers(new ServerPing.ServerPingPlayerSample(this.getMaxPlayers(), this.getPlayerCount()));
             if (!this.hidesOnlinePlayers()) {
                 GameProfile[] agameprofile = new GameProfile[Math.min(this.getPlayerCount(), 12)];
@@ -907,6 +919,8 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
                 Collections.shuffle(Arrays.asList(agameprofile));
                 this.status.getPlayers().setSample(agameprofile);
             }
+
+            this.statusPacket = PacketStatusOutServerInfo.precomputed(this.status);
         }
 
         if (this.tickCount % 6000 == 0) {
@@ -946,6 +960,7 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
             }
 
             this.profiler.push("tick");
+            long i = SystemUtils.getNanos();
 
             try {
                 worldserver.tick(booleansupplier);
@@ -956,6 +971,7 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
                 throw new ReportedException(crashreport);
             }
 
+            worldserver.tickTimes[this.tickCount % 100] = SystemUtils.getNanos() - i;
             this.profiler.pop();
             this.profiler.pop();
         }
@@ -1127,6 +1143,34 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
         return i;
     }
 
+    public EntityMovementBatcher.Settings getEntityMovementBatching() {
+        return EntityMovementBatcher.Settings.DISABLED;
+    }
+
+    public ChunkChangeCoalescer.Settings getBlockChangeCoalescing() {
+        return ChunkChangeCoalescer.Settings.DISABLED;
+    }
+
+    public AdaptiveEntityTracker.Settings getAdaptiveEntityTracking() {
+        return AdaptiveEntityTracker.Settings.DISABLED;
+    }
+
+    public ParallelEntityTracker.Settings getParallelEntityTracking() {
+        return ParallelEntityTracker.Settings.DISABLED;
+    }
+
+    public ChunkLoadPriority.Settings getChunkLoadPriority() {
+        return ChunkLoadPriority.Settings.DISABLED;
+    }
+
+    public ChunkLoadCancellation.Settings getChunkLoadCancellation() {
+        return ChunkLoadCancellation.Settings.DISABLED;
+    }
+
+    public ChunkUnloadCache.Settings getChunkUnloadCache() {
+        return ChunkUnloadCache.Settings.DISABLED;
+    }
+
     private void updateMobSpawningFlags() {
         Iterator iterator = this.getAllLevels().iterator();
 
@@ -1199,6 +1243,14 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
 
     public abstract boolean isEpollEnabled();
 
+    public ServerConnection.TransportSettings getTransportSettings() {
+        return ServerConnection.TransportSettings.DEFAULT;
+    }
+
+    public int getMaxConcurrentLogins() {
+        return 16;
+    }
+
     public boolean isPvpAllowed() {
         return this.pvp;
     }
@@ -1223,6 +1275,8 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
 
     public void setMotd(String s) {
         this.motd = s;
+        this.status.setDescription(IChatBaseComponent.literal(s));
+        this.invalidateStatus();
     }
 
     public boolean isStopped() {
@@ -1312,8 +1366,15 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
         return this.status;
     }
 
+    public PacketStatusOutServerInfo getStatusPacket() {
+        PacketStatusOutServerInfo packetstatusoutserverinfo = this.statusPacket;
+
+        return packetstatusoutserverinfo != null ? packetstatusoutserverinfo : new PacketStatusOutServerInfo(this.status);
+    }
+
     public void invalidateStatus() {
         this.lastServerStatus = 0L;
+        this.statusDirty = true;
     }
 
     public int getAbsoluteMaxWorldSize() {
@@ -4,7 +4,6 @@ import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
 import com.mojang.brigadier.tree.LiteralCommandNode;
-import java.util.Iterator;
 import java.util.List;
 import net.minecraft.commands.CommandListenerWrapper;
 import net.minecraft.commands.arguments.ArgumentChat;
@@ -59,18 +58,23 @@ public class CommandTeamMsg {
         ChatMessageType.a chatmessagetype_a = ChatMessageType.bind(ChatMessageType.TEAM_MSG_COMMAND_INCOMING, commandlistenerwrapper).withTargetName(ichatmutablecomponent);
         ChatMessageType.a chatmessagetype_a1 = ChatMessageType.bind(ChatMessageType.TEAM_MSG_COMMAND_OUTGOING, commandlistenerwrapper).withTargetName(ichatmutablecomponent);
         OutgoingChatMessage outgoingchatmessage = OutgoingChatMessage.create(playerchatmessage);
+        List<EntityPlayer> list1 = List.copyOf(list);
+        boolean[] aboolean = new boolean[list1.size()];
         boolean flag = false;
 
-        boolean flag1;
+        for (int i = 0; i < list1.size(); ++i) {
+            aboolean[i] = commandlistenerwrapper.shouldFilterMessageTo((EntityPlayer) list1.get(i));
+            flag |= aboolean[i] && playerchatmessage.isFullyFiltered();
+        }
 
-        for (Iterator iterator = list.iterator(); iterator.hasNext(); flag |= flag1 && playerchatmessage.isFullyFiltered()) {
-            EntityPlayer entityplayer = (EntityPlayer) iterator.next();
-            ChatMessageType.a chatmessagetype_a2 = entityplayer == entity ? chatmessagetype_a1 : chatmessagetype_a;
+        commandlistenerwrapper.getServer().getPlayerList().queueChatMessage(() -> {
+            for (int j = 0; j < list1.size(); ++j) {
+                EntityPlayer entityplayer = (EntityPlayer) list1.get(j);
 
-            flag1 = commandlistenerwrapper.shouldFilterMessageTo(entityplayer);
-            entityplayer.sendChatMessage(outgoingchatmessage, flag1, chatmessagetype_a2);
-        }
+                entityplayer.sendChatMessage(outgoingchatmessage, aboolean[j], entityplayer == entity ? chatmessagetype_a1 : chatmessagetype_a);
+            }
 
+        });
         if (flag) {
             commandlistenerwrapper.sendSystemMessage(PlayerList.CHAT_FILTERED_FULL);
         }
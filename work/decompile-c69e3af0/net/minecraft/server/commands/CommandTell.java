@@ -4,7 +4,7 @@ import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.List;
 import net.minecraft.commands.CommandListenerWrapper;
 import net.minecraft.commands.arguments.ArgumentChat;
 import net.minecraft.commands.arguments.ArgumentEntity;
@@ -38,20 +38,34 @@ public class CommandTell {
     private static void sendMessage(CommandListenerWrapper commandlistenerwrapper, Collection<EntityPlayer> collection, PlayerChatMessage playerchatmessage) {
         ChatMessageType.a chatmessagetype_a = ChatMessageType.bind(ChatMessageType.MSG_COMMAND_INCOMING, commandlistenerwrapper);
         OutgoingChatMessage outgoingchatmessage = OutgoingChatMessage.create(playerchatmessage);
-        boolean flag = false;
+        List<EntityPlayer> list = List.copyOf(collection);
+        ChatMessageType.a[] achatmessagetype_a = new ChatMessageType.a[list.size()];
+        boolean[] aboolean = new boolean[list.size()];
+        boolean flag = commandlistenerwrapper.isPlayer();
+        boolean flag1 = false;
 
-        boolean flag1;
+        for (int i = 0; i < list.size(); ++i) {
+            EntityPlayer entityplayer = (EntityPlayer) list.get(i);
 
-        for (Iterator iterator = collection.iterator(); iterator.hasNext(); flag |= flag1 && playerchatmessage.isFullyFiltered()) {
-            EntityPlayer entityplayer = (EntityPlayer) iterator.next();
-            ChatMessageType.a chatmessagetype_a1 = ChatMessageType.bind(ChatMessageType.MSG_COMMAND_OUTGOING, commandlistenerwrapper).withTargetName(entityplayer.getDisplayName());
-
-            commandlistenerwrapper.sendChatMessage(outgoingchatmessage, false, chatmessagetype_a1);
-            flag1 = commandlistenerwrapper.shouldFilterMessageTo(entityplayer);
-            entityplayer.sendChatMessage(outgoingchatmessage, flag1, chatmessagetype_a);
+            achatmessagetype_a[i] = ChatMessageType.bind(ChatMessageType.MSG_COMMAND_OUTGOING, commandlistenerwrapper).withTargetName(entityplayer.getDisplayName());
+            aboolean[i] = commandlistenerwrapper.shouldFilterMessageTo(entityplayer);
+            flag1 |= aboolean[i] && playerchatmessage.isFullyFiltered();
+            if (!flag) {
+                commandlistenerwrapper.sendChatMessage(outgoingchatmessage, false, achatmessagetype_a[i]);
+            }
         }
 
-        if (flag) {
+        commandlistenerwrapper.getServer().getPlayerList().queueChatMessage(() -> {
+            for (int j = 0; j < list.size(); ++j) {
+                if (flag) {
+                    commandlistenerwrapper.sendChatMessage(outgoingchatmessage, false, achatmessagetype_a[j]);
+                }
+
+                ((EntityPlayer) list.get(j)).sendChatMessage(outgoingchatmessage, aboolean[j], chatmessagetype_a);
+            }
+
+        });
+        if (flag1) {
             commandlistenerwrapper.sendSystemMessage(PlayerList.CHAT_FILTERED_FULL);
         }
 
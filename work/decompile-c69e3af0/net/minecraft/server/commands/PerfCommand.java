@@ -1,22 +1,42 @@
 package net.minecraft.server.commands;
 
+import com.google.common.collect.Lists;
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
 import com.mojang.logging.LogUtils;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import net.minecraft.FileUtils;
 import net.minecraft.SharedConstants;
 import net.minecraft.SystemReport;
 import net.minecraft.SystemUtils;
 import net.minecraft.commands.CommandListenerWrapper;
+import net.minecraft.commands.arguments.ArgumentEntity;
+import net.minecraft.network.PacketMetrics;
 import net.minecraft.network.chat.IChatBaseComponent;
+import net.minecraft.network.protocol.EnumProtocolDirection;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.AdaptiveEntityTracker;
+import net.minecraft.server.level.ChunkChangeCoalescer;
+import net.minecraft.server.level.ChunkLoadCancellation;
+import net.minecraft.server.level.ChunkUnloadCache;
+import net.minecraft.server.level.EntityPlayer;
+import net.minecraft.server.level.TickRegions;
+import net.minecraft.server.level.TicketPropagationBenchmark;
+import net.minecraft.server.level.WorldServer;
+import net.minecraft.server.network.LoadTestBot;
+import net.minecraft.server.network.LoadTestHarness;
 import net.minecraft.util.FileZipper;
 import net.minecraft.util.TimeRange;
 import net.minecraft.util.profiling.MethodProfilerResults;
@@ -29,19 +49,302 @@ public class PerfCommand {
     private static final Logger LOGGER = LogUtils.getLogger();
     private static final SimpleCommandExceptionType ERROR_NOT_RUNNING = new SimpleCommandExceptionType(IChatBaseComponent.translatable("commands.perf.notRunning"));
     private static final SimpleCommandExceptionType ERROR_ALREADY_RUNNING = new SimpleCommandExceptionType(IChatBaseComponent.translatable("commands.perf.alreadyRunning"));
+    private static final SimpleCommandExceptionType ERROR_NO_NETWORK_METRICS = new SimpleCommandExceptionType(IChatBaseComponent.literal("No network metrics are recorded for that player"));
+    private static final SimpleCommandExceptionType ERROR_NO_LOAD_TEST = new SimpleCommandExceptionType(IChatBaseComponent.literal("No load test is running"));
+    private static final SimpleCommandExceptionType ERROR_BENCHMARK_RUNNING = new SimpleCommandExceptionType(IChatBaseComponent.literal("A ticket propagation benchmark is already running"));
+    private static final AtomicBoolean BENCHMARK_RUNNING = new AtomicBoolean();
+    private static final int NETWORK_DUMP_TYPES = 10;
+    private static final int MAX_LOAD_TEST_BOTS = 1000;
 
     public PerfCommand() {}
 
     public static void register(CommandDispatcher<CommandListenerWrapper> commanddispatcher) {
-        commanddispatcher.register((LiteralArgumentBuilder) ((LiteralArgumentBuilder) ((LiteralArgumentBuilder) net.minecraft.commands.CommandDispatcher.literal("perf").requires((commandlistenerwrapper) -> {
+        commanddispatcher.register((LiteralArgumentBuilder) ((LiteralArgumentBuilder) ((LiteralArgumentBuilder) ((LiteralArgumentBuilder) ((LiteralArgumentBuilder) ((LiteralArgumentBuilder) ((LiteralArgumentBuilder) ((LiteralArgumentBuilder) ((LiteralArgumentBuilder) ((LiteralArgumentBuilder) net.minecraft.commands.CommandDispatcher.literal("perf").requires((commandlistenerwrapper) -> {
             return commandlistenerwrapper.hasPermission(4);
         })).then(net.minecraft.commands.CommandDispatcher.literal("start").executes((commandcontext) -> {
             return startProfilingDedicatedServer((CommandListenerWrapper) commandcontext.getSource());
         }))).then(net.minecraft.commands.CommandDispatcher.literal("stop").executes((commandcontext) -> {
             return stopProfilingDedicatedServer((CommandListenerWrapper) commandcontext.getSource());
+        }))).then(((LiteralArgumentBuilder) ((LiteralArgumentBuilder) net.minecraft.commands.CommandDispatcher.literal("network").executes((commandcontext) -> {
+            return dumpNetworkMetrics((CommandListenerWrapper) commandcontext.getSource(), ((CommandListenerWrapper) commandcontext.getSource()).getServer().getConnection().getPacketMetrics());
+        })).then(net.minecraft.commands.CommandDispatcher.argument("player", ArgumentEntity.player()).executes((commandcontext) -> {
+            return dumpNetworkMetrics((CommandListenerWrapper) commandcontext.getSource(), ArgumentEntity.getPlayer(commandcontext, "player"));
+        }))).then(net.minecraft.commands.CommandDispatcher.literal("reset").executes((commandcontext) -> {
+            return resetNetworkMetrics((CommandListenerWrapper) commandcontext.getSource());
+        })))).then(((LiteralArgumentBuilder) ((LiteralArgumentBuilder) net.minecraft.commands.CommandDispatcher.literal("bots").executes((commandcontext) -> {
+            return showLoadTest((CommandListenerWrapper) commandcontext.getSource());
+        })).then(net.minecraft.commands.CommandDispatcher.literal("start").then(((RequiredArgumentBuilder) net.minecraft.commands.CommandDispatcher.argument("count", IntegerArgumentType.integer(1, PerfCommand.MAX_LOAD_TEST_BOTS)).executes((commandcontext) -> {
+            return startLoadTest((CommandListenerWrapper) commandcontext.getSource(), IntegerArgumentType.getInteger(commandcontext, "count"), false);
+        })).then(net.minecraft.commands.CommandDispatcher.literal("tcp").executes((commandcontext) -> {
+            return startLoadTest((CommandListenerWrapper) commandcontext.getSource(), IntegerArgumentType.getInteger(commandcontext, "count"), true);
+        }))))).then(net.minecraft.commands.CommandDispatcher.literal("stop").executes((commandcontext) -> {
+            return stopLoadTest((CommandListenerWrapper) commandcontext.getSource());
+        })))).then(net.minecraft.commands.CommandDispatcher.literal("tracker").executes((commandcontext) -> {
+            return showEntityTracking((CommandListenerWrapper) commandcontext.getSource());
+        }))).then(((LiteralArgumentBuilder) net.minecraft.commands.CommandDispatcher.literal("tickets").executes((commandcontext) -> {
+            return benchmarkTicketPropagation((CommandListenerWrapper) commandcontext.getSource(), TicketPropagationBenchmark.DEFAULT_PLAYERS);
+        })).then(net.minecraft.commands.CommandDispatcher.argument("players", IntegerArgumentType.integer(1, TicketPropagationBenchmark.MAX_PLAYERS)).executes((commandcontext) -> {
+            return benchmarkTicketPropagation((CommandListenerWrapper) commandcontext.getSource(), IntegerArgumentType.getInteger(commandcontext, "players"));
+        })))).then(net.minecraft.commands.CommandDispatcher.literal("chunks").executes((commandcontext) -> {
+            return showChunkStats((CommandListenerWrapper) commandcontext.getSource());
+        }))).then(((LiteralArgumentBuilder) net.minecraft.commands.CommandDispatcher.literal("regions").executes((commandcontext) -> {
+            return showTickRegions((CommandListenerWrapper) commandcontext.getSource(), TickRegions.DEFAULT_BUFFER_CHUNKS);
+        })).then(net.minecraft.commands.CommandDispatcher.argument("buffer", IntegerArgumentType.integer(1, 8)).executes((commandcontext) -> {
+            return showTickRegions((CommandListenerWrapper) commandcontext.getSource(), IntegerArgumentType.getInteger(commandcontext, "buffer"));
+        })))).then(net.minecraft.commands.CommandDispatcher.literal("dimensions").executes((commandcontext) -> {
+            return showDimensionTickTimes((CommandListenerWrapper) commandcontext.getSource());
         })));
     }
 
+    private static int showDimensionTickTimes(CommandListenerWrapper commandlistenerwrapper) {
+        double d0 = 0.0D;
+        double d1 = 0.0D;
+        int i = 0;
+        Iterator iterator = commandlistenerwrapper.getServer().getAllLevels().iterator();
+
+        while (iterator.hasNext()) {
+            WorldServer worldserver = (WorldServer) iterator.next();
+            long j = 0L;
+            long k = 0L;
+            int l = 0;
+
+            for (int i1 = 0; i1 < worldserver.tickTimes.length; ++i1) {
+                long j1 = worldserver.tickTimes[i1];
+
+                if (j1 > 0L) {
+                    j = Math.max(j, j1);
+                    k += j1;
+                    ++l;
+                }
+            }
+
+            double d2 = l == 0 ? 0.0D : (double) k / (double) l * 1.0E-6D;
+
+            commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal(String.format(Locale.ROOT, "%s: mean %.2f ms, max %.2f ms", worldserver.dimension().location(), d2, (double) j * 1.0E-6D)), false);
+            d0 += d2;
+            d1 = Math.max(d1, d2);
+            ++i;
+        }
+
+        commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal(String.format(Locale.ROOT, "Levels take %.2f ms per tick in sequence, the slowest alone %.2f ms", d0, d1)), false);
+        return i;
+    }
+
+    private static int showTickRegions(CommandListenerWrapper commandlistenerwrapper, int i) {
+        int j = 0;
+        Iterator iterator = commandlistenerwrapper.getServer().getAllLevels().iterator();
+
+        while (iterator.hasNext()) {
+            WorldServer worldserver = (WorldServer) iterator.next();
+            TickRegions tickregions = worldserver.getChunkSource().chunkMap.analyzeTickRegions(i);
+
+            commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal(worldserver.dimension().location() + ": " + tickregions.format()), false);
+            ++j;
+        }
+
+        return j;
+    }
+
+    private static int showChunkStats(CommandListenerWrapper commandlistenerwrapper) {
+        int i = 0;
+        Iterator iterator = commandlistenerwrapper.getServer().getAllLevels().iterator();
+
+        while (iterator.hasNext()) {
+            WorldServer worldserver = (WorldServer) iterator.next();
+            ChunkChangeCoalescer chunkchangecoalescer = worldserver.getChunkSource().chunkMap.getChangeCoalescer();
+            ChunkLoadCancellation chunkloadcancellation = worldserver.getChunkSource().chunkMap.getLoadCancellation();
+            ChunkUnloadCache chunkunloadcache = worldserver.getChunkSource().chunkMap.getUnloadCache();
+
+            if (chunkchangecoalescer.settings().enabled()) {
+                commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal(worldserver.dimension().location() + ": " + chunkchangecoalescer.format()), false);
+                ++i;
+            }
+
+            if (chunkloadcancellation.settings().enabled()) {
+                commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal(worldserver.dimension().location() + ": " + chunkloadcancellation.format()), false);
+                ++i;
+            }
+
+            if (chunkunloadcache.settings().enabled()) {
+                commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal(worldserver.dimension().location() + ": " + chunkunloadcache.format()), false);
+                ++i;
+            }
+        }
+
+        if (i == 0) {
+            commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal("Block change coalescing, chunk load cancellation and unload caching are disabled"), false);
+        }
+
+        return i;
+    }
+
+    private static int benchmarkTicketPropagation(CommandListenerWrapper commandlistenerwrapper, int i) throws CommandSyntaxException {
+        if (!PerfCommand.BENCHMARK_RUNNING.compareAndSet(false, true)) {
+            throw PerfCommand.ERROR_BENCHMARK_RUNNING.create();
+        } else {
+            long j = commandlistenerwrapper.getLevel().getSeed();
+
+            CompletableFuture.supplyAsync(() -> {
+                return TicketPropagationBenchmark.run(i, j);
+            }, SystemUtils.ioPool()).whenCompleteAsync((ticketpropagationbenchmark_result, throwable) -> {
+                PerfCommand.BENCHMARK_RUNNING.set(false);
+                if (throwable != null) {
+                    PerfCommand.LOGGER.error("Ticket propagation benchmark failed", throwable);
+                    commandlistenerwrapper.sendFailure(IChatBaseComponent.literal("Ticket propagation benchmark failed, see the server log"));
+                } else {
+                    String s = ticketpropagationbenchmark_result.format();
+
+                    PerfCommand.LOGGER.info("Ticket propagation benchmark: {}", s);
+                    commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal(s), false);
+                }
+
+            }, commandlistenerwrapper.getServer());
+            commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal(String.format(Locale.ROOT, "Running the ticket propagation benchmark with %d players in the background", i)), false);
+            return i;
+        }
+    }
+
+    private static int showEntityTracking(CommandListenerWrapper commandlistenerwrapper) {
+        int i = 0;
+        Iterator iterator = commandlistenerwrapper.getServer().getAllLevels().iterator();
+
+        while (iterator.hasNext()) {
+            WorldServer worldserver = (WorldServer) iterator.next();
+            AdaptiveEntityTracker adaptiveentitytracker = worldserver.getChunkSource().chunkMap.getAdaptiveTracker();
+
+            if (adaptiveentitytracker.settings().enabled()) {
+                commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal(String.format(Locale.ROOT, "%s: tick pressure %.0f%%, %d full rate and %d reduced rate updates", worldserver.dimension().location(), adaptiveentitytracker.getTickPressure() * 100.0F, adaptiveentitytracker.getFullRateUpdates(), adaptiveentitytracker.getReducedRateUpdates())), false);
+                Iterator iterator1 = adaptiveentitytracker.getReport().iterator();
+
+                while (iterator1.hasNext()) {
+                    String s = (String) iterator1.next();
+
+                    commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal("  " + s), false);
+                    ++i;
+                }
+            }
+        }
+
+        if (i == 0) {
+            commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal("Adaptive entity tracking is disabled or no players are tracked"), false);
+        }
+
+        return i;
+    }
+
+    private static int startLoadTest(CommandListenerWrapper commandlistenerwrapper, int i, boolean flag) {
+        commandlistenerwrapper.getServer().getConnection().startLoadTest(LoadTestHarness.Options.of(i, flag));
+        commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal(String.format(Locale.ROOT, "Started %d load test bots over %s", i, flag ? "loopback TCP" : "the memory transport")), true);
+        return i;
+    }
+
+    private static int stopLoadTest(CommandListenerWrapper commandlistenerwrapper) throws CommandSyntaxException {
+        LoadTestHarness loadtestharness = commandlistenerwrapper.getServer().getConnection().stopLoadTest();
+
+        if (loadtestharness == null) {
+            throw PerfCommand.ERROR_NO_LOAD_TEST.create();
+        } else {
+            Iterator iterator = formatLoadTest(loadtestharness).iterator();
+
+            while (iterator.hasNext()) {
+                String s = (String) iterator.next();
+
+                PerfCommand.LOGGER.info(s);
+            }
+
+            commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal("Stopped " + loadtestharness.getBots().size() + " load test bots, samples written to the server log"), true);
+            return loadtestharness.getBots().size();
+        }
+    }
+
+    private static int showLoadTest(CommandListenerWrapper commandlistenerwrapper) throws CommandSyntaxException {
+        LoadTestHarness loadtestharness = commandlistenerwrapper.getServer().getConnection().getLoadTest();
+
+        if (loadtestharness == null) {
+            throw PerfCommand.ERROR_NO_LOAD_TEST.create();
+        } else {
+            LoadTestHarness.Sample loadtestharness_sample = loadtestharness.getLastSample();
+
+            commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal(String.format(Locale.ROOT, "%d of %d load test bots connected", loadtestharness.getConnectedBots(), loadtestharness.getOptions().count())), false);
+            if (loadtestharness_sample != null) {
+                commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal(loadtestharness_sample.format()), false);
+            }
+
+            return loadtestharness.getConnectedBots();
+        }
+    }
+
+    private static List<String> formatLoadTest(LoadTestHarness loadtestharness) {
+        List<String> list = Lists.newArrayList();
+
+        list.add(String.format(Locale.ROOT, "Load test: %s", loadtestharness.getOptions()));
+        Iterator iterator = loadtestharness.getSamples().iterator();
+
+        while (iterator.hasNext()) {
+            LoadTestHarness.Sample loadtestharness_sample = (LoadTestHarness.Sample) iterator.next();
+
+            list.add(loadtestharness_sample.format());
+        }
+
+        iterator = loadtestharness.getBots().iterator();
+
+        while (iterator.hasNext()) {
+            LoadTestBot loadtestbot = (LoadTestBot) iterator.next();
+
+            if (loadtestbot.getDisconnectReason() != null) {
+                list.add(String.format(Locale.ROOT, "%s disconnected: %s", loadtestbot.getName(), loadtestbot.getDisconnectReason().getString()));
+            }
+        }
+
+        return list;
+    }
+
+    private static int dumpNetworkMetrics(CommandListenerWrapper commandlistenerwrapper, EntityPlayer entityplayer) throws CommandSyntaxException {
+        PacketMetrics packetmetrics = entityplayer.connection.getConnection().getMetrics();
+
+        if (packetmetrics == null) {
+            throw PerfCommand.ERROR_NO_NETWORK_METRICS.create();
+        } else {
+            return dumpNetworkMetrics(commandlistenerwrapper, packetmetrics);
+        }
+    }
+
+    private static int dumpNetworkMetrics(CommandListenerWrapper commandlistenerwrapper, PacketMetrics packetmetrics) {
+        List<String> list = formatNetworkMetrics(packetmetrics);
+        Iterator iterator = list.subList(0, Math.min(list.size(), 3 + PerfCommand.NETWORK_DUMP_TYPES)).iterator();
+
+        while (iterator.hasNext()) {
+            String s = (String) iterator.next();
+
+            commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal(s), false);
+        }
+
+        return packetmetrics.getPacketTypes().size();
+    }
+
+    private static int resetNetworkMetrics(CommandListenerWrapper commandlistenerwrapper) {
+        commandlistenerwrapper.getServer().getConnection().getPacketMetrics().reset();
+        commandlistenerwrapper.sendSuccess(IChatBaseComponent.literal("Network metrics reset"), true);
+        return 0;
+    }
+
+    private static List<String> formatNetworkMetrics(PacketMetrics packetmetrics) {
+        List<String> list = Lists.newArrayList();
+
+        list.add(String.format(Locale.ROOT, "Sent %d packets, %d bytes (%d on wire); received %d packets, %d bytes", packetmetrics.getTotalPackets(EnumProtocolDirection.CLIENTBOUND), packetmetrics.getTotalBytes(EnumProtocolDirection.CLIENTBOUND), packetmetrics.getTotalWireBytes(EnumProtocolDirection.CLIENTBOUND), packetmetrics.getTotalPackets(EnumProtocolDirection.SERVERBOUND), packetmetrics.getTotalBytes(EnumProtocolDirection.SERVERBOUND)));
+        list.add("Encode: " + packetmetrics.getEncodeTime().format());
+        list.add("Compress: " + packetmetrics.getCompressTime().format());
+        Iterator iterator = packetmetrics.getPacketTypes().iterator();
+
+        while (iterator.hasNext()) {
+            PacketMetrics.PacketType packetmetrics_packettype = (PacketMetrics.PacketType) iterator.next();
+
+            list.add(packetmetrics_packettype.format());
+        }
+
+        return list;
+    }
+
     private static int startProfilingDedicatedServer(CommandListenerWrapper commandlistenerwrapper) throws CommandSyntaxException {
         MinecraftServer minecraftserver = commandlistenerwrapper.getServer();
 
@@ -89,6 +392,15 @@ public class PerfCommand {
 
         try {
             filezipper.add(Paths.get("system.txt"), minecraftserver.fillSystemReport(new SystemReport()).toLineSeparatedString());
+            if (minecraftserver.getConnection() != null) {
+                filezipper.add(Paths.get("network.txt"), String.join("\n", formatNetworkMetrics(minecraftserver.getConnection().getPacketMetrics())));
+                LoadTestHarness loadtestharness = minecraftserver.getConnection().getLoadTest();
+
+                if (loadtestharness != null) {
+                    filezipper.add(Paths.get("loadtest.txt"), String.join("\n", formatLoadTest(loadtestharness)));
+                }
+            }
+
             filezipper.add(path);
         } catch (Throwable throwable) {
             try {
@@ -32,10 +32,18 @@ import net.minecraft.server.ServerCommand;
 import net.minecraft.server.Services;
 import net.minecraft.server.WorldStem;
 import net.minecraft.server.gui.ServerGUI;
+import net.minecraft.server.level.AdaptiveEntityTracker;
+import net.minecraft.server.level.ChunkChangeCoalescer;
+import net.minecraft.server.level.ChunkLoadCancellation;
+import net.minecraft.server.level.ChunkLoadPriority;
+import net.minecraft.server.level.ChunkUnloadCache;
+import net.minecraft.server.level.EntityMovementBatcher;
 import net.minecraft.server.level.EntityPlayer;
+import net.minecraft.server.level.ParallelEntityTracker;
 import net.minecraft.server.level.WorldServer;
 import net.minecraft.server.level.progress.WorldLoadListenerFactory;
 import net.minecraft.server.network.ITextFilter;
+import net.minecraft.server.network.ServerConnection;
 import net.minecraft.server.network.TextFilter;
 import net.minecraft.server.packs.repository.ResourcePackRepository;
 import net.minecraft.server.players.NameReferencingFileConverter;
@@ -337,6 +345,16 @@ public class DedicatedServer extends MinecraftServer implements IMinecraftServer
         return this.getProperties().useNativeTransport;
     }
 
+    @Override
+    public ServerConnection.TransportSettings getTransportSettings() {
+        return this.getProperties().transportSettings;
+    }
+
+    @Override
+    public int getMaxConcurrentLogins() {
+        return this.getProperties().maxConcurrentLogins;
+    }
+
     @Override
     public DedicatedPlayerList getPlayerList() {
         return (DedicatedPlayerList) super.getPlayerList();
@@ -572,6 +590,41 @@ public class DedicatedServer extends MinecraftServer implements IMinecraftServer
         return this.getProperties().entityBroadcastRangePercentage * i / 100;
     }
 
+    @Override
+    public EntityMovementBatcher.Settings getEntityMovementBatching() {
+        return this.getProperties().entityMovementBatching;
+    }
+
+    @Override
+    public ChunkChangeCoalescer.Settings getBlockChangeCoalescing() {
+        return this.getProperties().blockChangeCoalescing;
+    }
+
+    @Override
+    public AdaptiveEntityTracker.Settings getAdaptiveEntityTracking() {
+        return this.getProperties().adaptiveEntityTracking;
+    }
+
+    @Override
+    public ParallelEntityTracker.Settings getParallelEntityTracking() {
+        return this.getProperties().parallelEntityTracking;
+    }
+
+    @Override
+    public ChunkLoadPriority.Settings getChunkLoadPriority() {
+        return this.getProperties().chunkLoadPriority;
+    }
+
+    @Override
+    public ChunkLoadCancellation.Settings getChunkLoadCancellation() {
+        return this.getProperties().chunkLoadCancellation;
+    }
+
+    @Override
+    public ChunkUnloadCache.Settings getChunkUnloadCache() {
+        return this.getProperties().chunkUnloadCache;
+    }
+
     @Override
     public String getLevelIdName() {
         return this.storageSource.getLevelId();
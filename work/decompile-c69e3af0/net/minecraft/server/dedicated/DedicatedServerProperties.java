@@ -29,6 +29,14 @@ import net.minecraft.resources.MinecraftKey;
 import net.minecraft.resources.RegistryOps;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.AdaptiveEntityTracker;
+import net.minecraft.server.level.ChunkChangeCoalescer;
+import net.minecraft.server.level.ChunkLoadCancellation;
+import net.minecraft.server.level.ChunkLoadPriority;
+import net.minecraft.server.level.ChunkUnloadCache;
+import net.minecraft.server.level.EntityMovementBatcher;
+import net.minecraft.server.level.ParallelEntityTracker;
+import net.minecraft.server.network.ServerConnection;
 import net.minecraft.util.ChatDeserializer;
 import net.minecraft.util.MathHelper;
 import net.minecraft.world.EnumDifficulty;
@@ -75,6 +83,8 @@ public class DedicatedServerProperties extends PropertyManager<DedicatedServerPr
     public final boolean allowNether;
     public final boolean spawnMonsters;
     public final boolean useNativeTransport;
+    public final ServerConnection.TransportSettings transportSettings;
+    public final int maxConcurrentLogins;
     public final boolean enableCommandBlock;
     public final int spawnProtection;
     public final int opPermissionLevel;
@@ -94,6 +104,13 @@ public class DedicatedServerProperties extends PropertyManager<DedicatedServerPr
     public final boolean enableStatus;
     public final boolean hideOnlinePlayers;
     public final int entityBroadcastRangePercentage;
+    public final EntityMovementBatcher.Settings entityMovementBatching;
+    public final ChunkChangeCoalescer.Settings blockChangeCoalescing;
+    public final AdaptiveEntityTracker.Settings adaptiveEntityTracking;
+    public final ParallelEntityTracker.Settings parallelEntityTracking;
+    public final ChunkLoadPriority.Settings chunkLoadPriority;
+    public final ChunkLoadCancellation.Settings chunkLoadCancellation;
+    public final ChunkUnloadCache.Settings chunkUnloadCache;
     public final String textFilteringConfig;
     public final Optional<MinecraftServer.ServerResourcePackInfo> serverResourcePackInfo;
     public final DataPackConfiguration initialDataPackConfiguration;
@@ -119,6 +136,18 @@ public class DedicatedServerProperties extends PropertyManager<DedicatedServerPr
         this.allowNether = this.get("allow-nether", true);
         this.spawnMonsters = this.get("spawn-monsters", true);
         this.useNativeTransport = this.get("use-native-transport", true);
+        int j = this.get("network-write-buffer-high-water-mark", 0);
+
+        this.transportSettings = new ServerConnection.TransportSettings(this.get("use-io-uring", false), this.get("network-io-threads", (integer) -> {
+            return Math.max(integer, 0);
+        }, 0), this.get("network-tcp-nodelay", true), this.get("network-send-buffer-size", (integer) -> {
+            return Math.max(integer, 0);
+        }, 0), this.get("network-write-buffer-low-water-mark", (integer) -> {
+            return MathHelper.clamp(integer, 0, Math.max(j, 0));
+        }, 0), j);
+        this.maxConcurrentLogins = this.get("max-concurrent-logins", (integer) -> {
+            return Math.max(integer, 1);
+        }, 16);
         this.enableCommandBlock = this.get("enable-command-block", false);
         this.spawnProtection = this.get("spawn-protection", 16);
         this.opPermissionLevel = this.get("op-permission-level", 4);
@@ -142,6 +171,47 @@ public class DedicatedServerProperties extends PropertyManager<DedicatedServerPr
         this.entityBroadcastRangePercentage = this.get("entity-broadcast-range-percentage", (integer) -> {
             return MathHelper.clamp(integer, (int) 10, (int) 1000);
         }, 100);
+        this.entityMovementBatching = new EntityMovementBatcher.Settings(this.get("entity-movement-batching", false), this.get("entity-movement-near-distance", (integer) -> {
+            return MathHelper.clamp(integer, 0, 512);
+        }, 48), this.get("entity-movement-far-interval", (integer) -> {
+            return MathHelper.clamp(integer, 1, 100);
+        }, 5));
+        this.blockChangeCoalescing = new ChunkChangeCoalescer.Settings(this.get("block-change-coalescing", false), this.get("block-change-section-threshold", (integer) -> {
+            return MathHelper.clamp(integer, 2, 4096);
+        }, 512));
+        this.adaptiveEntityTracking = new AdaptiveEntityTracker.Settings(this.get("adaptive-entity-tracking", false), this.get("entity-tracking-tick-budget", (integer) -> {
+            return MathHelper.clamp(integer, 1, 1000);
+        }, 45), this.get("entity-tracking-bandwidth-budget", (integer) -> {
+            return Math.max(integer, 0);
+        }, 262144), this.get("entity-tracking-min-range-percentage", (integer) -> {
+            return MathHelper.clamp(integer, 10, 100);
+        }, 50), this.get("entity-tracking-behind-range-percentage", (integer) -> {
+            return MathHelper.clamp(integer, 10, 100);
+        }, 50), this.get("entity-tracking-combat-distance", (integer) -> {
+            return MathHelper.clamp(integer, 0, 128);
+        }, 24), this.get("entity-tracking-full-rate-distance", (integer) -> {
+            return MathHelper.clamp(integer, 0, 512);
+        }, 48), this.get("entity-tracking-reduced-interval", (integer) -> {
+            return MathHelper.clamp(integer, 1, 100);
+        }, 5));
+        this.parallelEntityTracking = new ParallelEntityTracker.Settings(this.get("parallel-entity-tracking", false), this.get("parallel-entity-tracking-threads", (integer) -> {
+            return MathHelper.clamp(integer, 0, 64);
+        }, 0), this.get("parallel-entity-tracking-threshold", (integer) -> {
+            return Math.max(integer, 1);
+        }, 512));
+        this.chunkLoadPriority = new ChunkLoadPriority.Settings(this.get("chunk-load-prioritization", false), this.get("chunk-load-priority-boost", (integer) -> {
+            return MathHelper.clamp(integer, 1, 8);
+        }, 3), this.get("chunk-load-lookahead-ticks", (integer) -> {
+            return MathHelper.clamp(integer, 0, 200);
+        }, 20), this.get("chunk-load-priority-interval", (integer) -> {
+            return MathHelper.clamp(integer, 1, 200);
+        }, 10));
+        this.chunkLoadCancellation = new ChunkLoadCancellation.Settings(this.get("chunk-load-cancellation", false));
+        this.chunkUnloadCache = new ChunkUnloadCache.Settings(this.get("chunk-unload-delay", (integer) -> {
+            return MathHelper.clamp(integer, 0, 12000);
+        }, 0), this.get("chunk-unload-cache-size", (integer) -> {
+            return MathHelper.clamp(integer, 0, 4096);
+        }, 0));
         this.textFilteringConfig = this.get("text-filtering-config", "");
         this.playerIdleTimeout = this.getMutable("player-idle-timeout", 0);
         this.whiteList = this.getMutable("white-list", false);
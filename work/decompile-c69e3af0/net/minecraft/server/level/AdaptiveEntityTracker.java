@@ -0,0 +1,209 @@
+package net.minecraft.server.level;
+
+import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+import net.minecraft.network.PacketMetrics;
+import net.minecraft.network.protocol.EnumProtocolDirection;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityInsentient;
+import net.minecraft.world.entity.projectile.IProjectile;
+import net.minecraft.world.phys.Vec3D;
+
+public class AdaptiveEntityTracker {
+
+    public static final int BUDGET_UPDATE_INTERVAL = 20;
+    public static final int RANGE_HYSTERESIS = 8;
+    public static final int RECHECK_INTERVAL = 10;
+    private final AdaptiveEntityTracker.Settings settings;
+    private final Reference2ObjectMap<EntityPlayer, AdaptiveEntityTracker.Budget> budgets = new Reference2ObjectOpenHashMap();
+    private final LongAdder fullRateUpdates = new LongAdder();
+    private final LongAdder reducedRateUpdates = new LongAdder();
+    private volatile float tickPressure;
+    private volatile List<String> report = List.of();
+
+    public AdaptiveEntityTracker(AdaptiveEntityTracker.Settings adaptiveentitytracker_settings) {
+        this.settings = adaptiveentitytracker_settings;
+    }
+
+    public AdaptiveEntityTracker.Settings settings() {
+        return this.settings;
+    }
+
+    public void tick(List<EntityPlayer> list, int i, float f) {
+        if (this.settings.enabled() && i % AdaptiveEntityTracker.BUDGET_UPDATE_INTERVAL == 0) {
+            this.tickPressure = getPressure(f, (float) this.settings.tickBudget());
+            this.budgets.keySet().retainAll(list);
+            List<String> list1 = Lists.newArrayListWithCapacity(list.size());
+            Iterator iterator = list.iterator();
+
+            while (iterator.hasNext()) {
+                EntityPlayer entityplayer = (EntityPlayer) iterator.next();
+                AdaptiveEntityTracker.Budget adaptiveentitytracker_budget = (AdaptiveEntityTracker.Budget) this.budgets.computeIfAbsent(entityplayer, (entityplayer1) -> {
+                    return new AdaptiveEntityTracker.Budget();
+                });
+
+                adaptiveentitytracker_budget.update(entityplayer, this.settings, this.tickPressure);
+                list1.add(entityplayer.getScoreboardName() + ": " + adaptiveentitytracker_budget.format(this.settings));
+            }
+
+            this.report = list1;
+        }
+    }
+
+    private static float getPressure(float f, float f1) {
+        return f1 <= 0.0F ? 0.0F : MathHelper.clamp((f - f1) / f1, 0.0F, 1.0F);
+    }
+
+    public int getRange(EntityPlayer entityplayer, Entity entity, int i, boolean flag) {
+        if (this.settings.enabled() && !this.isCombatRelevant(entityplayer, entity)) {
+            float f = this.getRangeScale(entityplayer);
+
+            if (isBehind(entityplayer, entity)) {
+                f *= (float) this.settings.behindRangePercentage() / 100.0F;
+            }
+
+            int j = Math.max(this.settings.combatDistance(), MathHelper.floor((float) i * f));
+
+            return Math.min(i, flag ? j + AdaptiveEntityTracker.RANGE_HYSTERESIS : j);
+        } else {
+            return i;
+        }
+    }
+
+    public boolean isFullRate(EntityPlayer entityplayer, Entity entity) {
+        boolean flag;
+
+        if (!this.settings.enabled()) {
+            flag = true;
+        } else if (this.isCombatRelevant(entityplayer, entity)) {
+            flag = true;
+        } else {
+            double d0 = (double) ((float) this.settings.fullRateDistance() * this.getRangeScale(entityplayer));
+
+            flag = !isBehind(entityplayer, entity) && entityplayer.distanceToSqr(entity) <= d0 * d0;
+        }
+
+        if (flag) {
+            this.fullRateUpdates.increment();
+        } else {
+            this.reducedRateUpdates.increment();
+        }
+
+        return flag;
+    }
+
+    public boolean isRecheckTick(EntityPlayer entityplayer, int i) {
+        return (i + entityplayer.getId()) % AdaptiveEntityTracker.RECHECK_INTERVAL == 0;
+    }
+
+    public boolean isReducedSyncTick(Entity entity, int i) {
+        int j = this.tickPressure > 0.5F ? this.settings.reducedInterval() * 2 : this.settings.reducedInterval();
+
+        return (i + entity.getId()) % j == 0;
+    }
+
+    private boolean isCombatRelevant(EntityPlayer entityplayer, Entity entity) {
+        if (entity instanceof EntityPlayer || entity instanceof IProjectile || entity.hasPassenger(entityplayer) || entityplayer.hasPassenger(entity)) {
+            return true;
+        } else {
+            if (entity instanceof EntityInsentient) {
+                EntityInsentient entityinsentient = (EntityInsentient) entity;
+
+                if (entityinsentient.getTarget() == entityplayer) {
+                    return true;
+                }
+            }
+
+            double d0 = (double) this.settings.combatDistance();
+
+            return entityplayer.distanceToSqr(entity) <= d0 * d0;
+        }
+    }
+
+    private static boolean isBehind(EntityPlayer entityplayer, Entity entity) {
+        Vec3D vec3d = entity.position().subtract(entityplayer.getEyePosition());
+
+        return vec3d.dot(entityplayer.getLookAngle()) < 0.0D;
+    }
+
+    public float getRangeScale(EntityPlayer entityplayer) {
+        AdaptiveEntityTracker.Budget adaptiveentitytracker_budget = (AdaptiveEntityTracker.Budget) this.budgets.get(entityplayer);
+
+        return adaptiveentitytracker_budget == null ? 1.0F : adaptiveentitytracker_budget.rangeScale;
+    }
+
+    @Nullable
+    public AdaptiveEntityTracker.Budget getBudget(EntityPlayer entityplayer) {
+        return (AdaptiveEntityTracker.Budget) this.budgets.get(entityplayer);
+    }
+
+    public List<String> getReport() {
+        return this.report;
+    }
+
+    public float getTickPressure() {
+        return this.tickPressure;
+    }
+
+    public long getFullRateUpdates() {
+        return this.fullRateUpdates.sum();
+    }
+
+    public long getReducedRateUpdates() {
+        return this.reducedRateUpdates.sum();
+    }
+
+    public static class Budget {
+
+        private long lastWireBytes = -1L;
+        long bytesPerSecond;
+        float bandwidthPressure;
+        float rangeScale = 1.0F;
+
+        Budget() {}
+
+        void update(EntityPlayer entityplayer, AdaptiveEntityTracker.Settings adaptiveentitytracker_settings, float f) {
+            PacketMetrics packetmetrics = entityplayer.connection.getConnection().getMetrics();
+
+            if (packetmetrics != null) {
+                long i = packetmetrics.getTotalWireBytes(EnumProtocolDirection.CLIENTBOUND);
+
+                this.bytesPerSecond = this.lastWireBytes < 0L ? 0L : Math.max(0L, i - this.lastWireBytes);
+                this.lastWireBytes = i;
+                this.bandwidthPressure = AdaptiveEntityTracker.getPressure((float) this.bytesPerSecond, (float) adaptiveentitytracker_settings.bandwidthBudget());
+            }
+
+            float f1 = (float) adaptiveentitytracker_settings.minRangePercentage() / 100.0F;
+
+            this.rangeScale = 1.0F - (1.0F - f1) * Math.max(f, this.bandwidthPressure);
+        }
+
+        public long getBytesPerSecond() {
+            return this.bytesPerSecond;
+        }
+
+        public float getBandwidthPressure() {
+            return this.bandwidthPressure;
+        }
+
+        public float getRangeScale() {
+            return this.rangeScale;
+        }
+
+        public String format(AdaptiveEntityTracker.Settings adaptiveentitytracker_settings) {
+            return String.format(Locale.ROOT, "%d/%d B/s, range %.0f%% (full rate within %.0f blocks)", this.bytesPerSecond, adaptiveentitytracker_settings.bandwidthBudget(), this.rangeScale * 100.0F, (float) adaptiveentitytracker_settings.fullRateDistance() * this.rangeScale);
+        }
+    }
+
+    public static record Settings(boolean enabled, int tickBudget, int bandwidthBudget, int minRangePercentage, int behindRangePercentage, int combatDistance, int fullRateDistance, int reducedInterval) {
+
+        public static final AdaptiveEntityTracker.Settings DISABLED = new AdaptiveEntityTracker.Settings(false, 45, 262144, 50, 50, 24, 48, 5);
+    }
+}
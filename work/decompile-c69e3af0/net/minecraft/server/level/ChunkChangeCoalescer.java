@@ -0,0 +1,146 @@
+package net.minecraft.server.level;
+
+import it.unimi.dsi.fastutil.shorts.ShortIterator;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.core.SectionPosition;
+import net.minecraft.world.level.block.entity.TileEntity;
+import net.minecraft.world.level.chunk.Chunk;
+import net.minecraft.world.level.chunk.ChunkSection;
+
+public class ChunkChangeCoalescer {
+
+    private static final int BLOCK_UPDATE_BYTES = 12;
+    private static final int SECTION_UPDATE_HEADER_BYTES = 12;
+    private static final int SECTION_UPDATE_ENTRY_BYTES = 5;
+    private static final int LIGHT_SECTION_BYTES = 2 * 2048;
+    private static final int LIGHT_UPDATE_SECTION_BYTES = 2048 + 3;
+    private static final int BLOCK_ENTITY_BYTES = 64;
+    private final ChunkChangeCoalescer.Settings settings;
+    private final AtomicLong blockUpdates = new AtomicLong();
+    private final AtomicLong sectionUpdates = new AtomicLong();
+    private final AtomicLong chunkResends = new AtomicLong();
+    private final AtomicLong estimatedBytesSaved = new AtomicLong();
+
+    public ChunkChangeCoalescer(ChunkChangeCoalescer.Settings chunkchangecoalescer_settings) {
+        this.settings = chunkchangecoalescer_settings;
+    }
+
+    public ChunkChangeCoalescer.Settings settings() {
+        return this.settings;
+    }
+
+    public boolean shouldResendChunk(Chunk chunk, ShortSet[] ashortset, int i) {
+        if (!this.settings.enabled()) {
+            return false;
+        } else {
+            int j = 0;
+            boolean flag = false;
+            long k = 0L;
+
+            for (int l = 0; l < ashortset.length; ++l) {
+                ShortSet shortset = ashortset[l];
+
+                if (shortset != null) {
+                    ++j;
+                    flag |= shortset.size() >= this.settings.sectionThreshold();
+                    k += estimateSectionUpdateBytes(shortset.size());
+                }
+            }
+
+            if (j == 0 || !flag && j * 2 <= ashortset.length) {
+                return false;
+            } else {
+                long i1 = estimateChunkBytes(chunk);
+
+                k += (long) i * (long) ChunkChangeCoalescer.LIGHT_UPDATE_SECTION_BYTES + (long) countChangedBlockEntities(chunk, ashortset) * (long) ChunkChangeCoalescer.BLOCK_ENTITY_BYTES;
+
+                if (k > i1) {
+                    this.chunkResends.incrementAndGet();
+                    this.estimatedBytesSaved.addAndGet(k - i1);
+                    return true;
+                } else {
+                    return false;
+                }
+            }
+        }
+    }
+
+    public void onBlockUpdate() {
+        this.blockUpdates.incrementAndGet();
+    }
+
+    public void onSectionUpdate() {
+        this.sectionUpdates.incrementAndGet();
+    }
+
+    private static long estimateSectionUpdateBytes(int i) {
+        return i == 1 ? (long) ChunkChangeCoalescer.BLOCK_UPDATE_BYTES : (long) ChunkChangeCoalescer.SECTION_UPDATE_HEADER_BYTES + (long) i * (long) ChunkChangeCoalescer.SECTION_UPDATE_ENTRY_BYTES;
+    }
+
+    private static int countChangedBlockEntities(Chunk chunk, ShortSet[] ashortset) {
+        Map<BlockPosition, TileEntity> map = chunk.getBlockEntities();
+        int i = 0;
+
+        if (!map.isEmpty()) {
+            for (int j = 0; j < ashortset.length; ++j) {
+                ShortSet shortset = ashortset[j];
+
+                if (shortset != null) {
+                    SectionPosition sectionposition = SectionPosition.of(chunk.getPos(), chunk.getSectionYFromSectionIndex(j));
+                    ShortIterator shortiterator = shortset.iterator();
+
+                    while (shortiterator.hasNext()) {
+                        if (map.containsKey(sectionposition.relativeToBlockPos(shortiterator.nextShort()))) {
+                            ++i;
+                        }
+                    }
+                }
+            }
+        }
+
+        return i;
+    }
+
+    private static long estimateChunkBytes(Chunk chunk) {
+        long i = 0L;
+        ChunkSection[] achunksection = chunk.getSections();
+        int j = achunksection.length;
+
+        for (int k = 0; k < j; ++k) {
+            ChunkSection chunksection = achunksection[k];
+
+            i += (long) chunksection.getSerializedSize() + (long) ChunkChangeCoalescer.LIGHT_SECTION_BYTES;
+        }
+
+        return i + (long) chunk.getBlockEntities().size() * (long) ChunkChangeCoalescer.BLOCK_ENTITY_BYTES;
+    }
+
+    public long getBlockUpdates() {
+        return this.blockUpdates.get();
+    }
+
+    public long getSectionUpdates() {
+        return this.sectionUpdates.get();
+    }
+
+    public long getChunkResends() {
+        return this.chunkResends.get();
+    }
+
+    public long getEstimatedBytesSaved() {
+        return this.estimatedBytesSaved.get();
+    }
+
+    public String format() {
+        return String.format(Locale.ROOT, "%d block updates, %d section updates, %d chunk resends, ~%d KB saved (estimated)", this.getBlockUpdates(), this.getSectionUpdates(), this.getChunkResends(), this.getEstimatedBytesSaved() / 1024L);
+    }
+
+    public static record Settings(boolean enabled, int sectionThreshold) {
+
+        public static final ChunkChangeCoalescer.Settings DISABLED = new ChunkChangeCoalescer.Settings(false, 512);
+    }
+}
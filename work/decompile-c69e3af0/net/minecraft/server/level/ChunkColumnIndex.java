@@ -0,0 +1,127 @@
+package net.minecraft.server.level;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Consumer;
+import net.minecraft.world.level.ChunkCoordIntPair;
+
+public class ChunkColumnIndex<T> {
+
+    private final Long2ObjectMap<Set<T>> columns = new Long2ObjectOpenHashMap();
+    private int size;
+
+    public ChunkColumnIndex() {}
+
+    public void add(long i, T t0) {
+        if (((Set) this.columns.computeIfAbsent(i, (j) -> {
+            return new ReferenceLinkedOpenHashSet();
+        })).add(t0)) {
+            ++this.size;
+        }
+
+    }
+
+    public void remove(long i, T t0) {
+        Set<T> set = (Set) this.columns.get(i);
+
+        if (set != null && set.remove(t0)) {
+            --this.size;
+            if (set.isEmpty()) {
+                this.columns.remove(i);
+            }
+        }
+
+    }
+
+    public void move(long i, long j, T t0) {
+        if (i != j) {
+            this.remove(i, t0);
+            this.add(j, t0);
+        }
+
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public ObjectIterator<Long2ObjectMap.Entry<Set<T>>> columns() {
+        return Long2ObjectMaps.fastIterator(this.columns);
+    }
+
+    public void forEachNear(long i, int j, Consumer<T> consumer) {
+        this.forEachNear(i, i, j, consumer);
+    }
+
+    public void forEachNear(long i, long j, int k, Consumer<T> consumer) {
+        int l = ChunkCoordIntPair.getX(i);
+        int i1 = ChunkCoordIntPair.getZ(i);
+        int j1 = ChunkCoordIntPair.getX(j);
+        int k1 = ChunkCoordIntPair.getZ(j);
+        int l1 = 2 * k + 1;
+
+        if ((long) this.columns.size() < (long) l1 * (long) l1 * (long) (i == j ? 1 : 2)) {
+            ObjectIterator objectiterator = this.columns();
+
+            while (objectiterator.hasNext()) {
+                Long2ObjectMap.Entry<Set<T>> entry = (Long2ObjectMap.Entry) objectiterator.next();
+                long i2 = entry.getLongKey();
+                int j2 = ChunkCoordIntPair.getX(i2);
+                int k2 = ChunkCoordIntPair.getZ(i2);
+
+                if (isWithin(j2, k2, l, i1, k) || isWithin(j2, k2, j1, k1, k)) {
+                    forEach((Set) entry.getValue(), consumer);
+                }
+            }
+        } else {
+            this.forEachInSquare(j1, k1, k, consumer);
+            if (i != j) {
+                for (int l2 = l - k; l2 <= l + k; ++l2) {
+                    for (int i3 = i1 - k; i3 <= i1 + k; ++i3) {
+                        if (!isWithin(l2, i3, j1, k1, k)) {
+                            Set<T> set = (Set) this.columns.get(ChunkCoordIntPair.asLong(l2, i3));
+
+                            if (set != null) {
+                                forEach(set, consumer);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+    }
+
+    private void forEachInSquare(int i, int j, int k, Consumer<T> consumer) {
+        for (int l = i - k; l <= i + k; ++l) {
+            for (int i1 = j - k; i1 <= j + k; ++i1) {
+                Set<T> set = (Set) this.columns.get(ChunkCoordIntPair.asLong(l, i1));
+
+                if (set != null) {
+                    forEach(set, consumer);
+                }
+            }
+        }
+
+    }
+
+    private static boolean isWithin(int i, int j, int k, int l, int i1) {
+        return Math.abs(i - k) <= i1 && Math.abs(j - l) <= i1;
+    }
+
+    private static <T> void forEach(Set<T> set, Consumer<T> consumer) {
+        Iterator iterator = set.iterator();
+
+        while (iterator.hasNext()) {
+            T t0 = (T) iterator.next();
+
+            consumer.accept(t0);
+        }
+
+    }
+}
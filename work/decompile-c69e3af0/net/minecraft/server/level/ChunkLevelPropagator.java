@@ -0,0 +1,316 @@
+package net.minecraft.server.level;
+
+import it.unimi.dsi.fastutil.longs.Long2ByteMap;
+import it.unimi.dsi.fastutil.longs.Long2ByteMaps;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import java.util.function.LongConsumer;
+import javax.annotation.Nullable;
+import net.minecraft.world.level.ChunkCoordIntPair;
+
+public abstract class ChunkLevelPropagator {
+
+    private static final int REGION_SHIFT = 5;
+    private static final int REGION_SIZE = 1 << ChunkLevelPropagator.REGION_SHIFT;
+    private static final int REGION_MASK = ChunkLevelPropagator.REGION_SIZE - 1;
+    private final int maxLevel;
+    private final Long2ObjectMap<ChunkLevelPropagator.Region> regions = new Long2ObjectOpenHashMap();
+    private final Long2ByteMap sources = new Long2ByteOpenHashMap();
+    private final LongLinkedOpenHashSet updatedSources = new LongLinkedOpenHashSet();
+    private final LongArrayFIFOQueue[] increaseQueues;
+    private final LongArrayFIFOQueue[] checkQueues;
+    private final LongArrayFIFOQueue[] decreaseQueues;
+    private final Long2ByteMap changedLevels = new Long2ByteOpenHashMap();
+    private int size;
+    private long lastRegionKey = ChunkCoordIntPair.INVALID_CHUNK_POS;
+    @Nullable
+    private ChunkLevelPropagator.Region lastRegion;
+
+    protected ChunkLevelPropagator(int i) {
+        if (i < 1 || i > 127) {
+            throw new IllegalArgumentException("Max level must be in [1, 127]");
+        } else {
+            this.maxLevel = i;
+            this.increaseQueues = new LongArrayFIFOQueue[i + 1];
+            this.checkQueues = new LongArrayFIFOQueue[i + 1];
+            this.decreaseQueues = new LongArrayFIFOQueue[i + 1];
+
+            for (int j = 0; j <= i; ++j) {
+                this.increaseQueues[j] = new LongArrayFIFOQueue();
+                this.checkQueues[j] = new LongArrayFIFOQueue();
+                this.decreaseQueues[j] = new LongArrayFIFOQueue();
+            }
+
+        }
+    }
+
+    public void setSource(long i, int j) {
+        int k = this.toStrength(j);
+        int l = k == 0 ? this.sources.remove(i) : this.sources.put(i, (byte) k);
+
+        if (l != k) {
+            this.updatedSources.add(i);
+        }
+
+    }
+
+    public void removeSource(long i) {
+        this.setSource(i, this.maxLevel);
+    }
+
+    public int getLevel(long i) {
+        return this.maxLevel - this.getStrength(i);
+    }
+
+    public boolean contains(long i) {
+        return this.getStrength(i) != 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean hasWork() {
+        return !this.updatedSources.isEmpty();
+    }
+
+    public void forEach(LongConsumer longconsumer) {
+        ObjectIterator objectiterator = this.regions.long2ObjectEntrySet().iterator();
+
+        while (objectiterator.hasNext()) {
+            Long2ObjectMap.Entry<ChunkLevelPropagator.Region> entry = (Long2ObjectMap.Entry) objectiterator.next();
+            long i = entry.getLongKey();
+            int j = ChunkCoordIntPair.getX(i) << ChunkLevelPropagator.REGION_SHIFT;
+            int k = ChunkCoordIntPair.getZ(i) << ChunkLevelPropagator.REGION_SHIFT;
+            byte[] abyte = ((ChunkLevelPropagator.Region) entry.getValue()).strengths;
+
+            for (int l = 0; l < abyte.length; ++l) {
+                if (abyte[l] != 0) {
+                    longconsumer.accept(ChunkCoordIntPair.asLong(j + (l & ChunkLevelPropagator.REGION_MASK), k + (l >> ChunkLevelPropagator.REGION_SHIFT)));
+                }
+            }
+        }
+
+    }
+
+    protected void onLevelChange(long i, int j, int k) {}
+
+    public boolean propagateUpdates() {
+        if (this.updatedSources.isEmpty()) {
+            return false;
+        } else {
+            boolean flag = false;
+
+            while (!this.updatedSources.isEmpty()) {
+                long i = this.updatedSources.removeFirstLong();
+                int j = this.getStrength(i);
+                int k = this.sources.get(i);
+
+                if (k > j) {
+                    this.increaseQueues[k].enqueue(i);
+                } else if (k < j) {
+                    this.setStrength(i, 0);
+                    this.decreaseQueues[j].enqueue(i);
+                    flag = true;
+                    if (k > 0) {
+                        this.increaseQueues[k].enqueue(i);
+                    }
+                }
+            }
+
+            if (flag) {
+                this.propagateDecreases();
+            }
+
+            this.propagateIncreases();
+            return this.notifyChanges();
+        }
+    }
+
+    private void propagateDecreases() {
+        for (int i = this.maxLevel; i > 0; --i) {
+            LongArrayFIFOQueue longarrayfifoqueue = this.decreaseQueues[i];
+            int j = i - 1;
+
+            while (!longarrayfifoqueue.isEmpty()) {
+                long k = longarrayfifoqueue.dequeueLong();
+                int l = ChunkCoordIntPair.getX(k);
+                int i1 = ChunkCoordIntPair.getZ(k);
+
+                for (int j1 = -1; j1 <= 1; ++j1) {
+                    for (int k1 = -1; k1 <= 1; ++k1) {
+                        if (j1 != 0 || k1 != 0) {
+                            long l1 = ChunkCoordIntPair.asLong(l + j1, i1 + k1);
+                            int i2 = this.getStrength(l1);
+
+                            if (i2 != 0) {
+                                if (i2 > j) {
+                                    this.checkQueues[i2].enqueue(l1);
+                                } else {
+                                    this.setStrength(l1, 0);
+                                    this.decreaseQueues[i2].enqueue(l1);
+                                    int j2 = this.sources.get(l1);
+
+                                    if (j2 > 0) {
+                                        this.increaseQueues[j2].enqueue(l1);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+    }
+
+    private void propagateIncreases() {
+        for (int i = this.maxLevel; i > 0; --i) {
+            LongArrayFIFOQueue longarrayfifoqueue = this.increaseQueues[i];
+            LongArrayFIFOQueue longarrayfifoqueue1 = this.checkQueues[i];
+
+            while (!longarrayfifoqueue.isEmpty()) {
+                long j = longarrayfifoqueue.dequeueLong();
+
+                if (this.getStrength(j) < i) {
+                    this.setStrength(j, i);
+                    this.propagateFrom(j, i - 1);
+                }
+            }
+
+            while (!longarrayfifoqueue1.isEmpty()) {
+                long k = longarrayfifoqueue1.dequeueLong();
+
+                if (this.getStrength(k) == i) {
+                    this.propagateFrom(k, i - 1);
+                }
+            }
+        }
+
+    }
+
+    private void propagateFrom(long i, int j) {
+        if (j > 0) {
+            int k = ChunkCoordIntPair.getX(i);
+            int l = ChunkCoordIntPair.getZ(i);
+
+            for (int i1 = -1; i1 <= 1; ++i1) {
+                for (int j1 = -1; j1 <= 1; ++j1) {
+                    if (i1 != 0 || j1 != 0) {
+                        long k1 = ChunkCoordIntPair.asLong(k + i1, l + j1);
+
+                        if (this.getStrength(k1) < j) {
+                            this.setStrength(k1, j);
+                            this.checkQueues[j].enqueue(k1);
+                        }
+                    }
+                }
+            }
+
+        }
+    }
+
+    private boolean notifyChanges() {
+        boolean flag = false;
+        ObjectIterator objectiterator = Long2ByteMaps.fastIterator(this.changedLevels);
+
+        while (objectiterator.hasNext()) {
+            Long2ByteMap.Entry entry = (Long2ByteMap.Entry) objectiterator.next();
+            long i = entry.getLongKey();
+            int j = entry.getByteValue();
+            int k = this.getStrength(i);
+
+            if (j != k) {
+                flag = true;
+                this.onLevelChange(i, this.maxLevel - j, this.maxLevel - k);
+            }
+        }
+
+        this.changedLevels.clear();
+        return flag;
+    }
+
+    private int toStrength(int i) {
+        return i >= this.maxLevel ? 0 : this.maxLevel - Math.max(i, 0);
+    }
+
+    private int getStrength(long i) {
+        ChunkLevelPropagator.Region chunklevelpropagator_region = this.getRegion(ChunkLevelPropagator.getRegionKey(i), false);
+
+        return chunklevelpropagator_region == null ? 0 : chunklevelpropagator_region.strengths[getIndex(i)];
+    }
+
+    private void setStrength(long i, int j) {
+        long k = ChunkLevelPropagator.getRegionKey(i);
+        ChunkLevelPropagator.Region chunklevelpropagator_region = this.getRegion(k, j != 0);
+
+        if (chunklevelpropagator_region != null) {
+            int l = getIndex(i);
+            byte b0 = chunklevelpropagator_region.strengths[l];
+
+            if (b0 != j) {
+                if (!this.changedLevels.containsKey(i)) {
+                    this.changedLevels.put(i, b0);
+                }
+
+                chunklevelpropagator_region.strengths[l] = (byte) j;
+                if (b0 == 0) {
+                    ++chunklevelpropagator_region.count;
+                    ++this.size;
+                } else if (j == 0) {
+                    --this.size;
+                    if (--chunklevelpropagator_region.count == 0) {
+                        this.regions.remove(k);
+                        this.lastRegionKey = ChunkCoordIntPair.INVALID_CHUNK_POS;
+                        this.lastRegion = null;
+                    }
+                }
+
+            }
+        }
+    }
+
+    @Nullable
+    private ChunkLevelPropagator.Region getRegion(long i, boolean flag) {
+        if (i == this.lastRegionKey) {
+            return this.lastRegion;
+        } else {
+            ChunkLevelPropagator.Region chunklevelpropagator_region = (ChunkLevelPropagator.Region) this.regions.get(i);
+
+            if (chunklevelpropagator_region == null) {
+                if (!flag) {
+                    return null;
+                }
+
+                chunklevelpropagator_region = new ChunkLevelPropagator.Region();
+                this.regions.put(i, chunklevelpropagator_region);
+            }
+
+            this.lastRegionKey = i;
+            this.lastRegion = chunklevelpropagator_region;
+            return chunklevelpropagator_region;
+        }
+    }
+
+    private static long getRegionKey(long i) {
+        return ChunkCoordIntPair.asLong(ChunkCoordIntPair.getX(i) >> ChunkLevelPropagator.REGION_SHIFT, ChunkCoordIntPair.getZ(i) >> ChunkLevelPropagator.REGION_SHIFT);
+    }
+
+    private static int getIndex(long i) {
+        return ChunkCoordIntPair.getX(i) & ChunkLevelPropagator.REGION_MASK | (ChunkCoordIntPair.getZ(i) & ChunkLevelPropagator.REGION_MASK) << ChunkLevelPropagator.REGION_SHIFT;
+    }
+
+    private static class Region {
+
+        final byte[] strengths;
+        int count;
+
+        Region() {
+            this.strengths = new byte[ChunkLevelPropagator.REGION_SIZE * ChunkLevelPropagator.REGION_SIZE];
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package net.minecraft.server.level;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+public class ChunkLoadCancellation {
+
+    public static final BooleanSupplier NOT_CANCELLED = () -> {
+        return false;
+    };
+    private final ChunkLoadCancellation.Settings settings;
+    private final AtomicLong droppedHolders = new AtomicLong();
+    private final AtomicLong cancelledReads = new AtomicLong();
+    private final AtomicLong cancelledLoads = new AtomicLong();
+    private final AtomicLong cancelledGenerations = new AtomicLong();
+
+    public ChunkLoadCancellation(ChunkLoadCancellation.Settings chunkloadcancellation_settings) {
+        this.settings = chunkloadcancellation_settings;
+    }
+
+    public ChunkLoadCancellation.Settings settings() {
+        return this.settings;
+    }
+
+    BooleanSupplier token(PlayerChunk playerchunk) {
+        return this.settings.enabled() ? playerchunk.getCancellation() : ChunkLoadCancellation.NOT_CANCELLED;
+    }
+
+    void onHolderDropped() {
+        this.droppedHolders.incrementAndGet();
+    }
+
+    void onReadCancelled() {
+        this.cancelledReads.incrementAndGet();
+    }
+
+    void onLoadCancelled() {
+        this.cancelledLoads.incrementAndGet();
+    }
+
+    void onGenerationCancelled() {
+        this.cancelledGenerations.incrementAndGet();
+    }
+
+    public long getDroppedHolders() {
+        return this.droppedHolders.get();
+    }
+
+    public long getCancelledReads() {
+        return this.cancelledReads.get();
+    }
+
+    public long getCancelledLoads() {
+        return this.cancelledLoads.get();
+    }
+
+    public long getCancelledGenerations() {
+        return this.cancelledGenerations.get();
+    }
+
+    public String format() {
+        return String.format(Locale.ROOT, "%d holders dropped, %d reads, %d loads and %d generation steps skipped", this.getDroppedHolders(), this.getCancelledReads(), this.getCancelledLoads(), this.getCancelledGenerations());
+    }
+
+    public static record Settings(boolean enabled) {
+
+        public static final ChunkLoadCancellation.Settings DISABLED = new ChunkLoadCancellation.Settings(false);
+    }
+}
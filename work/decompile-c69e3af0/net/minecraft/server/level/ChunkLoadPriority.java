@@ -0,0 +1,132 @@
+package net.minecraft.server.level;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import java.util.Iterator;
+import java.util.List;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.level.ChunkCoordIntPair;
+import net.minecraft.world.phys.Vec3D;
+
+public class ChunkLoadPriority {
+
+    private static final double FAST_SPEED = 0.1D;
+    private static final double TELEPORT_DISTANCE = 8.0D;
+    private static final double LOOK_WEIGHT = 0.5D;
+    private final ChunkLoadPriority.Settings settings;
+    private final Reference2ObjectMap<EntityPlayer, ChunkLoadPriority.a> tracked = new Reference2ObjectOpenHashMap();
+    private volatile ChunkLoadPriority.a[] players = new ChunkLoadPriority.a[0];
+    private volatile int viewDistance;
+
+    public ChunkLoadPriority(ChunkLoadPriority.Settings chunkloadpriority_settings) {
+        this.settings = chunkloadpriority_settings;
+    }
+
+    public ChunkLoadPriority.Settings settings() {
+        return this.settings;
+    }
+
+    public boolean tick(List<EntityPlayer> list, int i) {
+        boolean flag = false;
+        ChunkLoadPriority.a[] achunkloadpriority_a = new ChunkLoadPriority.a[list.size()];
+        int j = 0;
+
+        this.tracked.keySet().retainAll(list);
+
+        for (Iterator iterator = list.iterator(); iterator.hasNext(); ++j) {
+            EntityPlayer entityplayer = (EntityPlayer) iterator.next();
+            ChunkLoadPriority.a chunkloadpriority_a = (ChunkLoadPriority.a) this.tracked.get(entityplayer);
+            ChunkLoadPriority.a chunkloadpriority_a1 = ChunkLoadPriority.a.of(entityplayer, chunkloadpriority_a);
+
+            if (chunkloadpriority_a != null && chunkloadpriority_a1.teleported()) {
+                flag = true;
+            }
+
+            this.tracked.put(entityplayer, chunkloadpriority_a1);
+            achunkloadpriority_a[j] = chunkloadpriority_a1;
+        }
+
+        this.viewDistance = i;
+        this.players = achunkloadpriority_a;
+        return flag;
+    }
+
+    public int getQueueLevel(long i, int j) {
+        if (this.settings.enabled() && j <= PlayerChunkMap.MAX_CHUNK_DISTANCE) {
+            ChunkLoadPriority.a[] achunkloadpriority_a = this.players;
+            double d0 = (double) ChunkCoordIntPair.getX(i) + 0.5D;
+            double d1 = (double) ChunkCoordIntPair.getZ(i) + 0.5D;
+            int k = this.viewDistance;
+            int l = Integer.MAX_VALUE;
+
+            for (int i1 = 0; i1 < achunkloadpriority_a.length; ++i1) {
+                ChunkLoadPriority.a chunkloadpriority_a = achunkloadpriority_a[i1];
+                int j1 = chunkloadpriority_a.getBias(d0 - chunkloadpriority_a.x, d1 - chunkloadpriority_a.z, k, this.settings);
+
+                if (j1 < l) {
+                    l = j1;
+                }
+            }
+
+            return l == Integer.MAX_VALUE ? j : MathHelper.clamp(j + l, 0, PlayerChunkMap.MAX_CHUNK_DISTANCE);
+        } else {
+            return j;
+        }
+    }
+
+    private static record a(double x, double z, double velocityX, double velocityZ, double lookX, double lookZ, boolean teleported) {
+
+        static ChunkLoadPriority.a of(EntityPlayer entityplayer, ChunkLoadPriority.a chunkloadpriority_a) {
+            double d0 = entityplayer.getX() / 16.0D;
+            double d1 = entityplayer.getZ() / 16.0D;
+            Vec3D vec3d = entityplayer.getLookAngle();
+            double d2 = Math.sqrt(vec3d.x * vec3d.x + vec3d.z * vec3d.z);
+            double d3 = d2 < 1.0E-4D ? 0.0D : vec3d.x / d2;
+            double d4 = d2 < 1.0E-4D ? 0.0D : vec3d.z / d2;
+
+            if (chunkloadpriority_a == null) {
+                return new ChunkLoadPriority.a(d0, d1, 0.0D, 0.0D, d3, d4, false);
+            } else {
+                double d5 = d0 - chunkloadpriority_a.x;
+                double d6 = d1 - chunkloadpriority_a.z;
+
+                return d5 * d5 + d6 * d6 > ChunkLoadPriority.TELEPORT_DISTANCE * ChunkLoadPriority.TELEPORT_DISTANCE ? new ChunkLoadPriority.a(d0, d1, 0.0D, 0.0D, d3, d4, true) : new ChunkLoadPriority.a(d0, d1, (chunkloadpriority_a.velocityX + d5) * 0.5D, (chunkloadpriority_a.velocityZ + d6) * 0.5D, d3, d4, false);
+            }
+        }
+
+        int getBias(double d0, double d1, int i, ChunkLoadPriority.Settings chunkloadpriority_settings) {
+            double d2 = Math.sqrt(this.velocityX * this.velocityX + this.velocityZ * this.velocityZ);
+            double d3 = (double) i + d2 * (double) chunkloadpriority_settings.lookaheadTicks() + 2.0D;
+            double d4 = d0 * d0 + d1 * d1;
+
+            if (d4 > d3 * d3) {
+                return Integer.MAX_VALUE;
+            } else if (d4 < 1.0D) {
+                return 0;
+            } else {
+                double d5 = Math.sqrt(d4);
+                double d6 = d0 / d5;
+                double d7 = d1 / d5;
+                double d8 = d2 < 1.0E-4D ? 0.0D : Math.min(1.0D, d2 / ChunkLoadPriority.FAST_SPEED) * (d6 * this.velocityX + d7 * this.velocityZ) / d2;
+                double d9 = MathHelper.clamp(d8 + ChunkLoadPriority.LOOK_WEIGHT * (d6 * this.lookX + d7 * this.lookZ), -1.0D, 1.0D);
+                int j = -((int) Math.round(d9 * (double) chunkloadpriority_settings.maxBoost()));
+
+                if (d2 >= 1.0E-4D && Math.max(Math.abs(d0), Math.abs(d1)) > (double) i) {
+                    double d10 = d0 - this.velocityX * (double) chunkloadpriority_settings.lookaheadTicks();
+                    double d11 = d1 - this.velocityZ * (double) chunkloadpriority_settings.lookaheadTicks();
+
+                    if (Math.max(Math.abs(d10), Math.abs(d11)) <= (double) i) {
+                        j -= chunkloadpriority_settings.maxBoost();
+                    }
+                }
+
+                return j;
+            }
+        }
+    }
+
+    public static record Settings(boolean enabled, int maxBoost, int lookaheadTicks, int updateInterval) {
+
+        public static final ChunkLoadPriority.Settings DISABLED = new ChunkLoadPriority.Settings(false, 3, 20, 10);
+    }
+}
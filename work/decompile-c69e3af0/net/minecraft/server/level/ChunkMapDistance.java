@@ -6,8 +6,6 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.mojang.datafixers.util.Either;
 import com.mojang.logging.LogUtils;
-import it.unimi.dsi.fastutil.longs.Long2ByteMap;
-import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2IntMap;
 import it.unimi.dsi.fastutil.longs.Long2IntMaps;
 import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
@@ -244,8 +242,8 @@ public abstract class ChunkMapDistance {
         ((ObjectSet) this.playersPerChunk.computeIfAbsent(i, (j) -> {
             return new ObjectOpenHashSet();
         })).add(entityplayer);
-        this.naturalSpawnChunkCounter.update(i, 0, true);
-        this.playerTicketManager.update(i, 0, true);
+        this.naturalSpawnChunkCounter.setSource(i, 0);
+        this.playerTicketManager.setSource(i, 0);
         this.tickingTicketsTracker.addTicket(TicketType.PLAYER, chunkcoordintpair, this.getPlayerTicketLevel(), chunkcoordintpair);
     }
 
@@ -257,8 +255,8 @@ public abstract class ChunkMapDistance {
         objectset.remove(entityplayer);
         if (objectset.isEmpty()) {
             this.playersPerChunk.remove(i);
-            this.naturalSpawnChunkCounter.update(i, Integer.MAX_VALUE, false);
-            this.playerTicketManager.update(i, Integer.MAX_VALUE, false);
+            this.naturalSpawnChunkCounter.removeSource(i);
+            this.playerTicketManager.removeSource(i);
             this.tickingTicketsTracker.removeTicket(TicketType.PLAYER, chunkcoordintpair, this.getPlayerTicketLevel(), chunkcoordintpair);
         }
 
@@ -296,12 +294,12 @@ public abstract class ChunkMapDistance {
 
     public int getNaturalSpawnChunkCount() {
         this.naturalSpawnChunkCounter.runAllUpdates();
-        return this.naturalSpawnChunkCounter.chunks.size();
+        return this.naturalSpawnChunkCounter.size();
     }
 
     public boolean hasPlayersNearby(long i) {
         this.naturalSpawnChunkCounter.runAllUpdates();
-        return this.naturalSpawnChunkCounter.chunks.containsKey(i);
+        return this.naturalSpawnChunkCounter.contains(i);
     }
 
     public String getDebugStatus() {
@@ -427,66 +425,40 @@ public abstract class ChunkMapDistance {
         }
     }
 
-    private class b extends ChunkMap {
+    private class b extends ChunkLevelPropagator {
 
-        protected final Long2ByteMap chunks = new Long2ByteOpenHashMap();
         protected final int maxDistance;
 
         protected b(int i) {
-            super(i + 2, 16, 256);
+            super(i + 1);
             this.maxDistance = i;
-            this.chunks.defaultReturnValue((byte) (i + 2));
         }
 
         @Override
-        protected int getLevel(long i) {
-            return this.chunks.get(i);
-        }
-
-        @Override
-        protected void setLevel(long i, int j) {
-            byte b0;
-
-            if (j > this.maxDistance) {
-                b0 = this.chunks.remove(i);
-            } else {
-                b0 = this.chunks.put(i, (byte) j);
-            }
+        public int getLevel(long i) {
+            int j = super.getLevel(i);
 
-            this.onLevelChange(i, b0, j);
+            return j > this.maxDistance ? this.maxDistance + 2 : j;
         }
 
-        protected void onLevelChange(long i, int j, int k) {}
-
-        @Override
-        protected int getLevelFromSource(long i) {
-            return this.havePlayer(i) ? 0 : Integer.MAX_VALUE;
+        public void runAllUpdates() {
+            this.propagateUpdates();
         }
 
-        private boolean havePlayer(long i) {
-            ObjectSet<EntityPlayer> objectset = (ObjectSet) ChunkMapDistance.this.playersPerChunk.get(i);
+        private void dumpChunks(String s) {
+            StringBuilder stringbuilder = new StringBuilder();
 
-            return objectset != null && !objectset.isEmpty();
-        }
+            this.forEach((i) -> {
+                ChunkCoordIntPair chunkcoordintpair = new ChunkCoordIntPair(i);
 
-        public void runAllUpdates() {
-            this.runUpdates(Integer.MAX_VALUE);
-        }
+                stringbuilder.append(chunkcoordintpair.x).append('\t').append(chunkcoordintpair.z).append('\t').append(this.getLevel(i)).append('\n');
+            });
 
-        private void dumpChunks(String s) {
             try {
                 FileOutputStream fileoutputstream = new FileOutputStream(new File(s));
 
                 try {
-                    ObjectIterator objectiterator = this.chunks.long2ByteEntrySet().iterator();
-
-                    while (objectiterator.hasNext()) {
-                        it.unimi.dsi.fastutil.longs.Long2ByteMap.Entry it_unimi_dsi_fastutil_longs_long2bytemap_entry = (it.unimi.dsi.fastutil.longs.Long2ByteMap.Entry) objectiterator.next();
-                        ChunkCoordIntPair chunkcoordintpair = new ChunkCoordIntPair(it_unimi_dsi_fastutil_longs_long2bytemap_entry.getLongKey());
-                        String s1 = Byte.toString(it_unimi_dsi_fastutil_longs_long2bytemap_entry.getByteValue());
-
-                        fileoutputstream.write((chunkcoordintpair.x + "\t" + chunkcoordintpair.z + "\t" + s1 + "\n").getBytes(StandardCharsets.UTF_8));
-                    }
+                    fileoutputstream.write(stringbuilder.toString().getBytes(StandardCharsets.UTF_8));
                 } catch (Throwable throwable) {
                     try {
                         fileoutputstream.close();
@@ -522,16 +494,11 @@ public abstract class ChunkMapDistance {
         }
 
         public void updateViewDistance(int i) {
-            ObjectIterator objectiterator = this.chunks.long2ByteEntrySet().iterator();
-
-            while (objectiterator.hasNext()) {
-                it.unimi.dsi.fastutil.longs.Long2ByteMap.Entry it_unimi_dsi_fastutil_longs_long2bytemap_entry = (it.unimi.dsi.fastutil.longs.Long2ByteMap.Entry) objectiterator.next();
-                byte b0 = it_unimi_dsi_fastutil_longs_long2bytemap_entry.getByteValue();
-                long j = it_unimi_dsi_fastutil_longs_long2bytemap_entry.getLongKey();
-
-                this.onLevelChange(j, b0, this.haveTicketFor(b0), b0 <= i - 2);
-            }
+            this.forEach((j) -> {
+                int k = this.getLevel(j);
 
+                this.onLevelChange(j, k, this.haveTicketFor(k), k <= i - 2);
+            });
             this.viewDistance = i;
         }
 
@@ -1,14 +1,11 @@
 package net.minecraft.server.level;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Lists;
 import com.mojang.datafixers.DataFixer;
 import com.mojang.datafixers.util.Either;
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -115,7 +112,9 @@ public class ChunkProviderServer extends IChunkProvider {
     @Override
     public IChunkAccess getChunk(int i, int j, ChunkStatus chunkstatus, boolean flag) {
         if (Thread.currentThread() != this.mainThread) {
-            return (IChunkAccess) CompletableFuture.supplyAsync(() -> {
+            Chunk chunk = chunkstatus == ChunkStatus.FULL ? this.chunkMap.fullChunks.get(ChunkCoordIntPair.asLong(i, j)) : null;
+
+            return chunk != null ? chunk : (IChunkAccess) CompletableFuture.supplyAsync(() -> {
                 return this.getChunk(i, j, chunkstatus, flag);
             }, this.mainThreadProcessor).join();
         } else {
@@ -159,7 +158,7 @@ public class ChunkProviderServer extends IChunkProvider {
     @Override
     public Chunk getChunkNow(int i, int j) {
         if (Thread.currentThread() != this.mainThread) {
-            return null;
+            return this.chunkMap.fullChunks.get(ChunkCoordIntPair.asLong(i, j));
         } else {
             this.level.getProfiler().incrementCounter("getChunkNow");
             long k = ChunkCoordIntPair.asLong(i, j);
@@ -372,41 +371,24 @@ public class ChunkProviderServer extends IChunkProvider {
             SpawnerCreature.d spawnercreature_d = SpawnerCreature.createState(l, this.level.getAllEntities(), this::getFullChunk, new LocalMobCapCalculator(this.chunkMap));
 
             this.lastSpawnState = spawnercreature_d;
-            gameprofilerfiller.popPush("filteringLoadedChunks");
-            List<ChunkProviderServer.a> list = Lists.newArrayListWithCapacity(l);
-            Iterator iterator = this.chunkMap.getChunks().iterator();
-
-            while (iterator.hasNext()) {
-                PlayerChunk playerchunk = (PlayerChunk) iterator.next();
-                Chunk chunk = playerchunk.getTickingChunk();
-
-                if (chunk != null) {
-                    list.add(new ChunkProviderServer.a(chunk, playerchunk));
-                }
-            }
-
             gameprofilerfiller.popPush("spawnAndTick");
             boolean flag2 = this.level.getGameRules().getBoolean(GameRules.RULE_DOMOBSPAWNING);
 
-            Collections.shuffle(list);
-            Iterator iterator1 = list.iterator();
-
-            while (iterator1.hasNext()) {
-                ChunkProviderServer.a chunkproviderserver_a = (ChunkProviderServer.a) iterator1.next();
-                Chunk chunk1 = chunkproviderserver_a.chunk;
-                ChunkCoordIntPair chunkcoordintpair = chunk1.getPos();
+            this.chunkMap.tickingChunks.forEachShuffled(this.level.random, (playerchunk, chunk) -> {
+                ChunkCoordIntPair chunkcoordintpair = chunk.getPos();
 
                 if (this.level.isNaturalSpawningAllowed(chunkcoordintpair) && this.chunkMap.anyPlayerCloseEnoughForSpawning(chunkcoordintpair)) {
-                    chunk1.incrementInhabitedTime(j);
+                    chunk.incrementInhabitedTime(j);
                     if (flag2 && (this.spawnEnemies || this.spawnFriendlies) && this.level.getWorldBorder().isWithinBounds(chunkcoordintpair)) {
-                        SpawnerCreature.spawnForChunk(this.level, chunk1, spawnercreature_d, this.spawnFriendlies, this.spawnEnemies, flag1);
+                        SpawnerCreature.spawnForChunk(this.level, chunk, spawnercreature_d, this.spawnFriendlies, this.spawnEnemies, flag1);
                     }
 
                     if (this.level.shouldTickBlocksAt(chunkcoordintpair.toLong())) {
-                        this.level.tickChunk(chunk1, k);
+                        this.level.tickChunk(chunk, k);
                     }
                 }
-            }
+
+            });
 
             gameprofilerfiller.popPush("customSpawners");
             if (flag2) {
@@ -414,9 +396,7 @@ public class ChunkProviderServer extends IChunkProvider {
             }
 
             gameprofilerfiller.popPush("broadcast");
-            list.forEach((chunkproviderserver_a1) -> {
-                chunkproviderserver_a1.holder.broadcastChanges(chunkproviderserver_a1.chunk);
-            });
+            this.chunkMap.tickingChunks.broadcastChanges(this.chunkMap.changeCoalescer);
             gameprofilerfiller.pop();
             gameprofilerfiller.pop();
             this.chunkMap.tick();
@@ -600,8 +580,4 @@ public class ChunkProviderServer extends IChunkProvider {
             }
         }
     }
-
-    private static record a(Chunk chunk, PlayerChunk holder) {
-
-    }
 }
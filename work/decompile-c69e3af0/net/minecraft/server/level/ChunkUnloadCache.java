@@ -0,0 +1,114 @@
+package net.minecraft.server.level;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import java.util.Locale;
+import javax.annotation.Nullable;
+import net.minecraft.nbt.NBTTagCompound;
+
+public class ChunkUnloadCache {
+
+    private static final long BYTES_PER_MEGABYTE = 1048576L;
+    private final ChunkUnloadCache.Settings settings;
+    private final Long2LongMap dropRequests = new Long2LongOpenHashMap();
+    private final Long2ObjectLinkedOpenHashMap<ChunkUnloadCache.a> retained = new Long2ObjectLinkedOpenHashMap();
+    private final long maxBytes;
+    private long bytes;
+    private long delayedUnloads;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ChunkUnloadCache(ChunkUnloadCache.Settings chunkunloadcache_settings) {
+        this.settings = chunkunloadcache_settings;
+        this.maxBytes = (long) chunkunloadcache_settings.cacheMegabytes() * ChunkUnloadCache.BYTES_PER_MEGABYTE;
+    }
+
+    public ChunkUnloadCache.Settings settings() {
+        return this.settings;
+    }
+
+    void onDropRequested(long i, long j) {
+        if (this.settings.unloadDelay() > 0) {
+            this.dropRequests.putIfAbsent(i, j);
+        }
+
+    }
+
+    void onDropCancelled(long i) {
+        if (this.dropRequests.containsKey(i)) {
+            this.dropRequests.remove(i);
+            ++this.delayedUnloads;
+        }
+
+    }
+
+    void onUnload(long i) {
+        this.dropRequests.remove(i);
+    }
+
+    boolean isUnloadDelayed(long i, long j) {
+        return this.settings.unloadDelay() > 0 && this.dropRequests.containsKey(i) && j - this.dropRequests.get(i) < (long) this.settings.unloadDelay();
+    }
+
+    void retain(long i, NBTTagCompound nbttagcompound) {
+        if (this.maxBytes > 0L) {
+            int j = nbttagcompound.sizeInBytes();
+
+            if ((long) j <= this.maxBytes) {
+                this.remove(i);
+                this.retained.putAndMoveToLast(i, new ChunkUnloadCache.a(nbttagcompound, j));
+
+                for (this.bytes += (long) j; this.bytes > this.maxBytes; ++this.evictions) {
+                    this.bytes -= (long) ((ChunkUnloadCache.a) this.retained.removeFirst()).size();
+                }
+
+            }
+        }
+    }
+
+    @Nullable
+    NBTTagCompound take(long i) {
+        if (this.maxBytes <= 0L) {
+            return null;
+        } else {
+            ChunkUnloadCache.a chunkunloadcache_a = (ChunkUnloadCache.a) this.retained.remove(i);
+
+            if (chunkunloadcache_a == null) {
+                ++this.misses;
+                return null;
+            } else {
+                ++this.hits;
+                this.bytes -= (long) chunkunloadcache_a.size();
+                return chunkunloadcache_a.tag();
+            }
+        }
+    }
+
+    private void remove(long i) {
+        ChunkUnloadCache.a chunkunloadcache_a = (ChunkUnloadCache.a) this.retained.remove(i);
+
+        if (chunkunloadcache_a != null) {
+            this.bytes -= (long) chunkunloadcache_a.size();
+        }
+
+    }
+
+    public String format() {
+        return String.format(Locale.ROOT, "%d unloads avoided by delay, %d retained chunks (%.1f MB), %d hits, %d misses, %d evictions", this.delayedUnloads, this.retained.size(), (double) this.bytes / (double) ChunkUnloadCache.BYTES_PER_MEGABYTE, this.hits, this.misses, this.evictions);
+    }
+
+    private static record a(NBTTagCompound tag, int size) {
+
+    }
+
+    public static record Settings(int unloadDelay, int cacheMegabytes) {
+
+        public static final ChunkUnloadCache.Settings DISABLED = new ChunkUnloadCache.Settings(0, 0);
+
+        public boolean enabled() {
+            return this.unloadDelay > 0 || this.cacheMegabytes > 0;
+        }
+    }
+}
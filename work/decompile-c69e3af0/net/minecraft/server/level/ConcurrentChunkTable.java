@@ -0,0 +1,154 @@
+package net.minecraft.server.level;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nullable;
+import net.minecraft.world.level.chunk.Chunk;
+
+public class ConcurrentChunkTable {
+
+    private static final int MIN_CAPACITY = 64;
+    private static final Object REMOVED = new Object();
+    private static final Object MOVED = new Object();
+    private volatile AtomicReferenceArray<Object> table;
+    private int size;
+    private int removed;
+
+    public ConcurrentChunkTable() {
+        this.table = new AtomicReferenceArray(ConcurrentChunkTable.MIN_CAPACITY);
+    }
+
+    @Nullable
+    public Chunk get(long i) {
+        AtomicReferenceArray<Object> atomicreferencearray = this.table;
+
+        while (true) {
+            Object object = find(atomicreferencearray, i);
+
+            if (object != ConcurrentChunkTable.MOVED) {
+                return (Chunk) object;
+            }
+
+            atomicreferencearray = this.table;
+        }
+    }
+
+    @Nullable
+    private static Object find(AtomicReferenceArray<Object> atomicreferencearray, long i) {
+        int j = atomicreferencearray.length() - 1;
+        int k = (int) HashCommon.mix(i) & j;
+
+        for (int l = 0; l <= j; ++l) {
+            Object object = atomicreferencearray.get(k + l & j);
+
+            if (object == null || object == ConcurrentChunkTable.MOVED) {
+                return object;
+            }
+
+            if (object != ConcurrentChunkTable.REMOVED && ((Chunk) object).getPos().toLong() == i) {
+                return object;
+            }
+        }
+
+        return null;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public void put(Chunk chunk) {
+        long i = chunk.getPos().toLong();
+        AtomicReferenceArray<Object> atomicreferencearray = this.table;
+        int j = atomicreferencearray.length() - 1;
+        int k = (int) HashCommon.mix(i) & j;
+        int l = -1;
+
+        for (int i1 = 0; i1 <= j; ++i1) {
+            int j1 = k + i1 & j;
+            Object object = atomicreferencearray.get(j1);
+
+            if (object == null) {
+                if (l == -1) {
+                    l = j1;
+                }
+                break;
+            }
+
+            if (object == ConcurrentChunkTable.REMOVED) {
+                if (l == -1) {
+                    l = j1;
+                }
+            } else if (((Chunk) object).getPos().toLong() == i) {
+                atomicreferencearray.set(j1, chunk);
+                return;
+            }
+        }
+
+        if (atomicreferencearray.get(l) == ConcurrentChunkTable.REMOVED) {
+            --this.removed;
+        }
+
+        atomicreferencearray.set(l, chunk);
+        ++this.size;
+        if ((this.size + this.removed) * 2 > atomicreferencearray.length()) {
+            this.rehash();
+        }
+
+    }
+
+    public void remove(long i) {
+        AtomicReferenceArray<Object> atomicreferencearray = this.table;
+        int j = atomicreferencearray.length() - 1;
+        int k = (int) HashCommon.mix(i) & j;
+
+        for (int l = 0; l <= j; ++l) {
+            int i1 = k + l & j;
+            Object object = atomicreferencearray.get(i1);
+
+            if (object == null) {
+                return;
+            }
+
+            if (object != ConcurrentChunkTable.REMOVED && ((Chunk) object).getPos().toLong() == i) {
+                atomicreferencearray.set(i1, ConcurrentChunkTable.REMOVED);
+                --this.size;
+                ++this.removed;
+                if (this.removed * 4 > atomicreferencearray.length()) {
+                    this.rehash();
+                }
+
+                return;
+            }
+        }
+
+    }
+
+    private void rehash() {
+        AtomicReferenceArray<Object> atomicreferencearray = this.table;
+        AtomicReferenceArray<Object> atomicreferencearray1 = new AtomicReferenceArray(Math.max(ConcurrentChunkTable.MIN_CAPACITY, HashCommon.nextPowerOfTwo(this.size * 4)));
+        int i = atomicreferencearray1.length() - 1;
+
+        for (int j = 0; j < atomicreferencearray.length(); ++j) {
+            Object object = atomicreferencearray.get(j);
+
+            if (object != null && object != ConcurrentChunkTable.REMOVED) {
+                int k = (int) HashCommon.mix(((Chunk) object).getPos().toLong()) & i;
+
+                while (atomicreferencearray1.get(k) != null) {
+                    k = k + 1 & i;
+                }
+
+                atomicreferencearray1.set(k, object);
+            }
+        }
+
+        this.table = atomicreferencearray1;
+        this.removed = 0;
+
+        for (int l = 0; l < atomicreferencearray.length(); ++l) {
+            atomicreferencearray.set(l, ConcurrentChunkTable.MOVED);
+        }
+
+    }
+}
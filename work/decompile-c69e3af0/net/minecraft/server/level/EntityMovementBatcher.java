@@ -0,0 +1,100 @@
+package net.minecraft.server.level;
+
+import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMaps;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.server.network.PlayerConnection;
+import net.minecraft.server.network.ServerPlayerConnection;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.phys.Vec3D;
+
+public class EntityMovementBatcher {
+
+    private static final Comparator<EntityMovementBatcher.a> BY_PRIORITY = Comparator.comparingDouble((entitymovementbatcher_a) -> {
+        return entitymovementbatcher_a.priority();
+    });
+    private final Reference2ObjectMap<ServerPlayerConnection, List<EntityMovementBatcher.a>> pending = new Reference2ObjectOpenHashMap();
+    private final EntityMovementBatcher.Settings settings;
+
+    public EntityMovementBatcher(EntityMovementBatcher.Settings entitymovementbatcher_settings) {
+        this.settings = entitymovementbatcher_settings;
+    }
+
+    public EntityMovementBatcher.Settings settings() {
+        return this.settings;
+    }
+
+    public boolean isNear(EntityPlayer entityplayer, Entity entity) {
+        double d0 = (double) this.settings.nearDistance();
+
+        return entityplayer.distanceToSqr(entity) <= d0 * d0;
+    }
+
+    public boolean isFarSyncTick(Entity entity, int i) {
+        return (i + entity.getId()) % this.settings.farInterval() == 0;
+    }
+
+    public void add(ServerPlayerConnection serverplayerconnection, Entity entity, Packet<?> packet) {
+        List<EntityMovementBatcher.a> list = (List) this.pending.computeIfAbsent(serverplayerconnection, (serverplayerconnection1) -> {
+            return Lists.newArrayList();
+        });
+
+        list.add(new EntityMovementBatcher.a(getPriority(serverplayerconnection.getPlayer(), entity), packet));
+    }
+
+    public void flush() {
+        if (!this.pending.isEmpty()) {
+            ObjectIterator objectiterator = Reference2ObjectMaps.fastIterator(this.pending);
+
+            while (objectiterator.hasNext()) {
+                Reference2ObjectMap.Entry<ServerPlayerConnection, List<EntityMovementBatcher.a>> entry = (Reference2ObjectMap.Entry) objectiterator.next();
+                ServerPlayerConnection serverplayerconnection = (ServerPlayerConnection) entry.getKey();
+                List<EntityMovementBatcher.a> list = (List) entry.getValue();
+
+                list.sort(EntityMovementBatcher.BY_PRIORITY);
+                List<Packet<?>> list1 = Lists.newArrayListWithCapacity(list.size());
+                Iterator iterator = list.iterator();
+
+                while (iterator.hasNext()) {
+                    EntityMovementBatcher.a entitymovementbatcher_a = (EntityMovementBatcher.a) iterator.next();
+
+                    list1.add(entitymovementbatcher_a.packet());
+                }
+
+                if (serverplayerconnection instanceof PlayerConnection) {
+                    ((PlayerConnection) serverplayerconnection).sendBatch(list1);
+                } else {
+                    Iterator iterator1 = list1.iterator();
+
+                    while (iterator1.hasNext()) {
+                        serverplayerconnection.send((Packet) iterator1.next());
+                    }
+                }
+            }
+
+            this.pending.clear();
+        }
+    }
+
+    private static double getPriority(EntityPlayer entityplayer, Entity entity) {
+        Vec3D vec3d = entity.position().subtract(entityplayer.getEyePosition());
+        double d0 = vec3d.lengthSqr();
+
+        return vec3d.dot(entityplayer.getLookAngle()) > 0.0D ? d0 * 0.25D : d0;
+    }
+
+    public static record Settings(boolean enabled, int nearDistance, int farInterval) {
+
+        public static final EntityMovementBatcher.Settings DISABLED = new EntityMovementBatcher.Settings(false, 48, 5);
+    }
+
+    private static record a(double priority, Packet<?> packet) {
+
+    }
+}
@@ -51,6 +51,7 @@ public class EntityTrackerEntry {
     private final int updateInterval;
     private final boolean trackDelta;
     private final Consumer<Packet<?>> broadcast;
+    private final Consumer<Packet<?>> movementBroadcast;
     private final VecDeltaCodec positionCodec = new VecDeltaCodec();
     private int yRotp;
     private int xRotp;
@@ -65,10 +66,15 @@ public class EntityTrackerEntry {
     private List<DataWatcher.b<?>> trackedDataValues;
 
     public EntityTrackerEntry(WorldServer worldserver, Entity entity, int i, boolean flag, Consumer<Packet<?>> consumer) {
+        this(worldserver, entity, i, flag, consumer, consumer);
+    }
+
+    public EntityTrackerEntry(WorldServer worldserver, Entity entity, int i, boolean flag, Consumer<Packet<?>> consumer, Consumer<Packet<?>> consumer1) {
         this.ap = Vec3D.ZERO;
         this.lastPassengers = Collections.emptyList();
         this.level = worldserver;
         this.broadcast = consumer;
+        this.movementBroadcast = consumer1;
         this.entity = entity;
         this.updateInterval = i;
         this.trackDelta = flag;
@@ -130,7 +136,7 @@ public class EntityTrackerEntry {
                 boolean flag = Math.abs(i - this.yRotp) >= 1 || Math.abs(j - this.xRotp) >= 1;
 
                 if (flag) {
-                    this.broadcast.accept(new PacketPlayOutEntity.PacketPlayOutEntityLook(this.entity.getId(), (byte) i, (byte) j, this.entity.isOnGround()));
+                    this.movementBroadcast.accept(new PacketPlayOutEntity.PacketPlayOutEntityLook(this.entity.getId(), (byte) i, (byte) j, this.entity.isOnGround()));
                     this.yRotp = i;
                     this.xRotp = j;
                 }
@@ -177,12 +183,12 @@ public class EntityTrackerEntry {
 
                     if (d0 > 1.0E-7D || d0 > 0.0D && vec3d1.lengthSqr() == 0.0D) {
                         this.ap = vec3d1;
-                        this.broadcast.accept(new PacketPlayOutEntityVelocity(this.entity.getId(), this.ap));
+                        this.movementBroadcast.accept(new PacketPlayOutEntityVelocity(this.entity.getId(), this.ap));
                     }
                 }
 
                 if (packet1 != null) {
-                    this.broadcast.accept(packet1);
+                    this.movementBroadcast.accept(packet1);
                 }
 
                 this.sendDirtyEntityData();
@@ -200,7 +206,7 @@ public class EntityTrackerEntry {
 
             i = MathHelper.floor(this.entity.getYHeadRot() * 256.0F / 360.0F);
             if (Math.abs(i - this.yHeadRotp) >= 1) {
-                this.broadcast.accept(new PacketPlayOutEntityHeadRotation(this.entity, (byte) i));
+                this.movementBroadcast.accept(new PacketPlayOutEntityHeadRotation(this.entity, (byte) i));
                 this.yHeadRotp = i;
             }
 
@@ -215,6 +221,15 @@ public class EntityTrackerEntry {
 
     }
 
+    public void sendPositionSync(Consumer<Packet<?>> consumer) {
+        consumer.accept(new PacketPlayOutEntityTeleport(this.entity));
+        consumer.accept(new PacketPlayOutEntityHeadRotation(this.entity, (byte) this.yHeadRotp));
+        if (this.trackDelta) {
+            consumer.accept(new PacketPlayOutEntityVelocity(this.entity.getId(), this.ap));
+        }
+
+    }
+
     public void removePairing(EntityPlayer entityplayer) {
         this.entity.stopSeenByPlayer(entityplayer);
         entityplayer.connection.send(new PacketPlayOutEntityDestroy(new int[]{this.entity.getId()}));
@@ -0,0 +1,70 @@
+package net.minecraft.server.level;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import java.util.BitSet;
+import net.minecraft.core.SectionPosition;
+import net.minecraft.world.level.ChunkCoordIntPair;
+import net.minecraft.world.level.EnumSkyBlock;
+import net.minecraft.world.level.chunk.NibbleArray;
+import net.minecraft.world.level.lighting.LightEngine;
+
+public class LightSectionDeltaTracker {
+
+    private static final long EMPTY_HASH = 0x9E3779B97F4A7C15L;
+    private final long[] sentSky;
+    private final long[] sentBlock;
+    private final BitSet knownSky = new BitSet();
+    private final BitSet knownBlock = new BitSet();
+
+    public LightSectionDeltaTracker(int i) {
+        this.sentSky = new long[i];
+        this.sentBlock = new long[i];
+    }
+
+    public void filterUnchanged(ChunkCoordIntPair chunkcoordintpair, LightEngine lightengine, BitSet bitset, BitSet bitset1) {
+        this.filterUnchanged(chunkcoordintpair, lightengine, EnumSkyBlock.SKY, bitset, this.sentSky, this.knownSky);
+        this.filterUnchanged(chunkcoordintpair, lightengine, EnumSkyBlock.BLOCK, bitset1, this.sentBlock, this.knownBlock);
+    }
+
+    private void filterUnchanged(ChunkCoordIntPair chunkcoordintpair, LightEngine lightengine, EnumSkyBlock enumskyblock, BitSet bitset, long[] along, BitSet bitset1) {
+        for (int i = bitset.nextSetBit(0); i >= 0 && i < along.length; i = bitset.nextSetBit(i + 1)) {
+            NibbleArray nibblearray = lightengine.getLayerListener(enumskyblock).getDataLayerData(SectionPosition.of(chunkcoordintpair, lightengine.getMinLightSection() + i));
+
+            if (nibblearray == null) {
+                bitset1.clear(i);
+            } else {
+                long j = hash(nibblearray);
+
+                if (bitset1.get(i) && along[i] == j) {
+                    bitset.clear(i);
+                } else {
+                    along[i] = j;
+                    bitset1.set(i);
+                }
+            }
+        }
+
+    }
+
+    private static long hash(NibbleArray nibblearray) {
+        if (nibblearray.isEmpty()) {
+            return LightSectionDeltaTracker.EMPTY_HASH;
+        } else {
+            byte[] abyte = nibblearray.getData();
+            long i = (long) abyte.length;
+
+            for (int j = 0; j + 8 <= abyte.length; j += 8) {
+                long k = (long) abyte[j] & 255L | ((long) abyte[j + 1] & 255L) << 8 | ((long) abyte[j + 2] & 255L) << 16 | ((long) abyte[j + 3] & 255L) << 24 | ((long) abyte[j + 4] & 255L) << 32 | ((long) abyte[j + 5] & 255L) << 40 | ((long) abyte[j + 6] & 255L) << 48 | ((long) abyte[j + 7] & 255L) << 56;
+
+                i = HashCommon.mix(i ^ k) + (long) j;
+            }
+
+            return HashCommon.mix(i);
+        }
+    }
+
+    public void invalidate() {
+        this.knownSky.clear();
+        this.knownBlock.clear();
+    }
+}
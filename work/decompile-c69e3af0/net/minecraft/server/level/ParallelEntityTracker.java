@@ -0,0 +1,133 @@
+package net.minecraft.server.level;
+
+import com.mojang.logging.LogUtils;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.decoration.EntityItemFrame;
+import org.slf4j.Logger;
+
+public class ParallelEntityTracker {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final AtomicInteger WORKER_COUNT = new AtomicInteger(1);
+    private static final int PARTITIONS_PER_THREAD = 4;
+    @Nullable
+    private static ForkJoinPool pool;
+    private final ParallelEntityTracker.Settings settings;
+
+    public ParallelEntityTracker(ParallelEntityTracker.Settings parallelentitytracker_settings) {
+        this.settings = parallelentitytracker_settings;
+    }
+
+    public ParallelEntityTracker.Settings settings() {
+        return this.settings;
+    }
+
+    private static synchronized ForkJoinPool getPool(int i) {
+        if (ParallelEntityTracker.pool == null) {
+            int j = i > 0 ? i : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+            ParallelEntityTracker.pool = new ForkJoinPool(j, (forkjoinpool) -> {
+                ForkJoinWorkerThread forkjoinworkerthread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkjoinpool);
+
+                forkjoinworkerthread.setName("Entity Tracker-" + ParallelEntityTracker.WORKER_COUNT.getAndIncrement());
+                forkjoinworkerthread.setDaemon(true);
+                return forkjoinworkerthread;
+            }, (thread, throwable) -> {
+                ParallelEntityTracker.LOGGER.error("Caught exception in thread {}", thread, throwable);
+            }, true);
+        }
+
+        return ParallelEntityTracker.pool;
+    }
+
+    public void sendChanges(List<PlayerChunkMap.EntityTracker> list, Consumer<PlayerChunkMap.EntityTracker> consumer) {
+        if (this.settings.enabled() && list.size() >= this.settings.threshold()) {
+            this.sendChangesParallel(list, consumer);
+        } else {
+            Iterator iterator = list.iterator();
+
+            while (iterator.hasNext()) {
+                PlayerChunkMap.EntityTracker playerchunkmap_entitytracker = (PlayerChunkMap.EntityTracker) iterator.next();
+
+                playerchunkmap_entitytracker.serverEntity.sendChanges();
+                consumer.accept(playerchunkmap_entitytracker);
+            }
+        }
+
+    }
+
+    private void sendChangesParallel(List<PlayerChunkMap.EntityTracker> list, Consumer<PlayerChunkMap.EntityTracker> consumer) {
+        ForkJoinPool forkjoinpool = getPool(this.settings.threads());
+        int i = list.size();
+        int j = Math.min(i, forkjoinpool.getParallelism() * ParallelEntityTracker.PARTITIONS_PER_THREAD);
+        CompletableFuture<?>[] acompletablefuture = new CompletableFuture[j];
+
+        for (int k = 0; k < j; ++k) {
+            List<PlayerChunkMap.EntityTracker> list1 = list.subList((int) ((long) i * (long) k / (long) j), (int) ((long) i * (long) (k + 1) / (long) j));
+
+            acompletablefuture[k] = CompletableFuture.runAsync(() -> {
+                Iterator iterator = list1.iterator();
+
+                while (iterator.hasNext()) {
+                    PlayerChunkMap.EntityTracker playerchunkmap_entitytracker = (PlayerChunkMap.EntityTracker) iterator.next();
+
+                    if (canRunOffThread(playerchunkmap_entitytracker.entity)) {
+                        playerchunkmap_entitytracker.startDeferring();
+                        playerchunkmap_entitytracker.serverEntity.sendChanges();
+                    }
+                }
+
+            }, forkjoinpool);
+        }
+
+        try {
+            CompletableFuture.allOf(acompletablefuture).join();
+        } catch (CompletionException completionexception) {
+            Throwable throwable = completionexception.getCause();
+
+            if (throwable instanceof RuntimeException) {
+                throw (RuntimeException) throwable;
+            }
+
+            throw completionexception;
+        } finally {
+            Iterator iterator = list.iterator();
+
+            while (iterator.hasNext()) {
+                PlayerChunkMap.EntityTracker playerchunkmap_entitytracker = (PlayerChunkMap.EntityTracker) iterator.next();
+
+                if (playerchunkmap_entitytracker.isDeferring()) {
+                    playerchunkmap_entitytracker.flushDeferred();
+                } else {
+                    playerchunkmap_entitytracker.serverEntity.sendChanges();
+                }
+
+                consumer.accept(playerchunkmap_entitytracker);
+            }
+
+        }
+    }
+
+    private static boolean canRunOffThread(Entity entity) {
+        return !(entity instanceof EntityPlayer) && !(entity instanceof EntityItemFrame);
+    }
+
+    static record Deferred(Packet<?> packet, boolean movement) {
+
+    }
+
+    public static record Settings(boolean enabled, int threads, int threshold) {
+
+        public static final ParallelEntityTracker.Settings DISABLED = new ParallelEntityTracker.Settings(false, 0, 512);
+    }
+}
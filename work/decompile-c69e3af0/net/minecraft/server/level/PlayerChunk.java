@@ -5,12 +5,15 @@ import com.mojang.datafixers.util.Pair;
 import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
 import it.unimi.dsi.fastutil.shorts.ShortSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BooleanSupplier;
 import java.util.function.IntConsumer;
 import java.util.function.IntSupplier;
 import javax.annotation.Nullable;
@@ -18,6 +21,7 @@ import net.minecraft.SystemUtils;
 import net.minecraft.core.BlockPosition;
 import net.minecraft.core.SectionPosition;
 import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
 import net.minecraft.network.protocol.game.PacketPlayOutBlockChange;
 import net.minecraft.network.protocol.game.PacketPlayOutLightUpdate;
 import net.minecraft.network.protocol.game.PacketPlayOutMultiBlockChange;
@@ -58,6 +62,7 @@ public class PlayerChunk {
     public int oldTicketLevel;
     private int ticketLevel;
     private int queueLevel;
+    private volatile boolean dropped;
     final ChunkCoordIntPair pos;
     private boolean hasChangedSections;
     private final ShortSet[] changedBlocksPerSection;
@@ -68,7 +73,10 @@ public class PlayerChunk {
     public final PlayerChunk.e playerProvider;
     private boolean wasAccessibleSinceLastSave;
     private boolean resendLight;
+    @Nullable
+    private LightSectionDeltaTracker lightDeltaTracker;
     private CompletableFuture<Void> pendingFullStateConfirmation;
+    int tickingIndex = -1;
 
     public PlayerChunk(ChunkCoordIntPair chunkcoordintpair, int i, LevelHeightAccessor levelheightaccessor, LightEngine lightengine, PlayerChunk.d playerchunk_d, PlayerChunk.e playerchunk_e) {
         this.futures = new AtomicReferenceArray(PlayerChunk.CHUNK_STATUSES.size());
@@ -173,6 +181,10 @@ public class PlayerChunk {
             int i = this.levelHeightAccessor.getSectionIndex(blockposition.getY());
 
             if (this.changedBlocksPerSection[i] == null) {
+                if (!this.hasChangedSections) {
+                    this.playerProvider.onChangesPending(this);
+                }
+
                 this.hasChangedSections = true;
                 this.changedBlocksPerSection[i] = new ShortOpenHashSet();
             }
@@ -198,6 +210,10 @@ public class PlayerChunk {
                     if (i >= j && i <= k) {
                         int l = i - j;
 
+                        if (!this.hasPendingChanges()) {
+                            this.playerProvider.onChangesPending(this);
+                        }
+
                         if (enumskyblock == EnumSkyBlock.SKY) {
                             this.skyChangedLightSectionFilter.set(l);
                         } else {
@@ -210,9 +226,28 @@ public class PlayerChunk {
         }
     }
 
+    boolean hasPendingChanges() {
+        return this.hasChangedSections || !this.skyChangedLightSectionFilter.isEmpty() || !this.blockChangedLightSectionFilter.isEmpty();
+    }
+
     public void broadcastChanges(Chunk chunk) {
-        if (this.hasChangedSections || !this.skyChangedLightSectionFilter.isEmpty() || !this.blockChangedLightSectionFilter.isEmpty()) {
+        this.broadcastChanges(chunk, (ChunkChangeCoalescer) null);
+    }
+
+    public void broadcastChanges(Chunk chunk, @Nullable ChunkChangeCoalescer chunkchangecoalescer) {
+        if (this.hasPendingChanges()) {
             World world = chunk.getLevel();
+
+            if (this.hasChangedSections && chunkchangecoalescer != null && chunkchangecoalescer.shouldResendChunk(chunk, this.changedBlocksPerSection, this.skyChangedLightSectionFilter.cardinality() + this.blockChangedLightSectionFilter.cardinality())) {
+                this.broadcast(new ClientboundLevelChunkWithLightPacket(chunk, this.lightEngine, (BitSet) null, (BitSet) null, true), false);
+                this.skyChangedLightSectionFilter.clear();
+                this.blockChangedLightSectionFilter.clear();
+                this.invalidateSentLight();
+                Arrays.fill(this.changedBlocksPerSection, (Object) null);
+                this.hasChangedSections = false;
+                return;
+            }
+
             int i = 0;
 
             int j;
@@ -222,6 +257,14 @@ public class PlayerChunk {
             }
 
             this.resendLight |= i >= 64;
+            if (!this.skyChangedLightSectionFilter.isEmpty() || !this.blockChangedLightSectionFilter.isEmpty()) {
+                if (this.lightDeltaTracker == null) {
+                    this.lightDeltaTracker = new LightSectionDeltaTracker(this.lightEngine.getLightSectionCount());
+                }
+
+                this.lightDeltaTracker.filterUnchanged(this.pos, this.lightEngine, this.skyChangedLightSectionFilter, this.blockChangedLightSectionFilter);
+            }
+
             if (!this.skyChangedLightSectionFilter.isEmpty() || !this.blockChangedLightSectionFilter.isEmpty()) {
                 this.broadcast(new PacketPlayOutLightUpdate(chunk.getPos(), this.lightEngine, this.skyChangedLightSectionFilter, this.blockChangedLightSectionFilter, true), !this.resendLight);
                 this.skyChangedLightSectionFilter.clear();
@@ -241,11 +284,18 @@ public class PlayerChunk {
 
                         this.broadcast(new PacketPlayOutBlockChange(blockposition, iblockdata), false);
                         this.broadcastBlockEntityIfNeeded(world, blockposition, iblockdata);
+                        if (chunkchangecoalescer != null) {
+                            chunkchangecoalescer.onBlockUpdate();
+                        }
                     } else {
                         ChunkSection chunksection = chunk.getSection(j);
                         PacketPlayOutMultiBlockChange packetplayoutmultiblockchange = new PacketPlayOutMultiBlockChange(sectionposition, shortset, chunksection, this.resendLight);
 
                         this.broadcast(packetplayoutmultiblockchange, false);
+                        if (chunkchangecoalescer != null) {
+                            chunkchangecoalescer.onSectionUpdate();
+                        }
+
                         packetplayoutmultiblockchange.runUpdates((blockposition1, iblockdata1) -> {
                             this.broadcastBlockEntityIfNeeded(world, blockposition1, iblockdata1);
                         });
@@ -259,6 +309,13 @@ public class PlayerChunk {
         }
     }
 
+    public void invalidateSentLight() {
+        if (this.lightDeltaTracker != null) {
+            this.lightDeltaTracker.invalidate();
+        }
+
+    }
+
     private void broadcastBlockEntityIfNeeded(World world, BlockPosition blockposition, IBlockData iblockdata) {
         if (iblockdata.hasBlockEntity()) {
             this.broadcastBlockEntity(world, blockposition);
@@ -358,6 +415,22 @@ public class PlayerChunk {
         this.queueLevel = i;
     }
 
+    BooleanSupplier getCancellation() {
+        AtomicBoolean atomicboolean = new AtomicBoolean();
+
+        return () -> {
+            if (this.dropped) {
+                atomicboolean.set(true);
+            }
+
+            return atomicboolean.get();
+        };
+    }
+
+    void updateQueueLevel(int i) {
+        this.onLevelChange.onLevelChange(this.pos, this::getQueueLevel, i, this::setQueueLevel);
+    }
+
     public void setTicketLevel(int i) {
         this.ticketLevel = i;
     }
@@ -367,6 +440,7 @@ public class PlayerChunk {
         CompletableFuture<Void> completablefuture1 = new CompletableFuture();
 
         completablefuture1.thenRunAsync(() -> {
+            playerchunkmap.onTickingStatusChange(this, playerchunk_state.isOrAfter(PlayerChunk.State.TICKING));
             playerchunkmap.onFullChunkStatusChange(this.pos, playerchunk_state);
         }, executor);
         this.pendingFullStateConfirmation = completablefuture1;
@@ -379,6 +453,7 @@ public class PlayerChunk {
 
     private void demoteFullChunk(PlayerChunkMap playerchunkmap, PlayerChunk.State playerchunk_state) {
         this.pendingFullStateConfirmation.cancel(false);
+        playerchunkmap.onTickingStatusChange(this, playerchunk_state.isOrAfter(PlayerChunk.State.TICKING));
         playerchunkmap.onFullChunkStatusChange(this.pos, playerchunk_state);
     }
 
@@ -390,6 +465,7 @@ public class PlayerChunk {
         PlayerChunk.State playerchunk_state = getFullChunkStatus(this.oldTicketLevel);
         PlayerChunk.State playerchunk_state1 = getFullChunkStatus(this.ticketLevel);
 
+        this.dropped = !flag1;
         if (flag) {
             Either<IChunkAccess, PlayerChunk.Failure> either = Either.right(new PlayerChunk.Failure() {
                 public String toString() {
@@ -397,6 +473,10 @@ public class PlayerChunk {
                 }
             });
 
+            if (!flag1 && playerchunkmap.loadCancellation.settings().enabled()) {
+                playerchunkmap.loadCancellation.onHolderDropped();
+            }
+
             for (int i = flag1 ? chunkstatus1.getIndex() + 1 : 0; i <= chunkstatus.getIndex(); ++i) {
                 CompletableFuture<Either<IChunkAccess, PlayerChunk.Failure>> completablefuture = (CompletableFuture) this.futures.get(i);
 
@@ -457,7 +537,7 @@ public class PlayerChunk {
             this.demoteFullChunk(playerchunkmap, playerchunk_state1);
         }
 
-        this.onLevelChange.onLevelChange(this.pos, this::getQueueLevel, this.ticketLevel, this::setQueueLevel);
+        this.onLevelChange.onLevelChange(this.pos, this::getQueueLevel, playerchunkmap.getChunkQueuePriority(this.pos.toLong(), this.ticketLevel), this::setQueueLevel);
         this.oldTicketLevel = this.ticketLevel;
     }
 
@@ -512,6 +592,8 @@ public class PlayerChunk {
     public interface e {
 
         List<EntityPlayer> getPlayers(ChunkCoordIntPair chunkcoordintpair, boolean flag);
+
+        default void onChangesPending(PlayerChunk playerchunk) {}
     }
 
     private static final class b {
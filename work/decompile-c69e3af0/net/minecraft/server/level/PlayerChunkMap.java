@@ -20,11 +20,14 @@ import it.unimi.dsi.fastutil.longs.Long2LongMap;
 import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap.Entry;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.objects.ObjectBidirectionalIterator;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.file.Path;
@@ -63,6 +66,7 @@ import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
 import net.minecraft.network.protocol.game.PacketDebug;
 import net.minecraft.network.protocol.game.PacketPlayOutAttachEntity;
+import net.minecraft.network.protocol.game.PacketPlayOutEntityTeleport;
 import net.minecraft.network.protocol.game.PacketPlayOutMount;
 import net.minecraft.network.protocol.game.PacketPlayOutViewCentre;
 import net.minecraft.server.level.progress.WorldLoadListener;
@@ -147,6 +151,21 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
     private final Long2ByteMap chunkTypeCache;
     private final Long2LongMap chunkSaveCooldowns;
     private final Queue<Runnable> unloadQueue;
+    private final EntityMovementBatcher movementBatcher;
+    final ChunkChangeCoalescer changeCoalescer;
+    private final AdaptiveEntityTracker adaptiveTracker;
+    private final ParallelEntityTracker parallelTracker;
+    private final ChunkLoadPriority loadPriority;
+    private int loadPriorityTicks;
+    final ChunkLoadCancellation loadCancellation;
+    final ConcurrentChunkTable fullChunks;
+    private final ChunkUnloadCache unloadCache;
+    final TickingChunkTracker tickingChunks;
+    final TickRegions tickRegions;
+    private final ChunkColumnIndex<PlayerChunkMap.EntityTracker> trackerIndex;
+    private final ChunkColumnIndex<EntityPlayer> playerIndex;
+    private final Set<PlayerChunkMap.EntityTracker> movedTrackers;
+    private int trackingRadius;
     int viewDistance;
 
     public PlayerChunkMap(WorldServer worldserver, Convertable.ConversionSession convertable_conversionsession, DataFixer datafixer, StructureTemplateManager structuretemplatemanager, Executor executor, IAsyncTaskHandler<Runnable> iasynctaskhandler, ILightAccess ilightaccess, ChunkGenerator chunkgenerator, WorldLoadListener worldloadlistener, ChunkStatusUpdateListener chunkstatusupdatelistener, Supplier<WorldPersistentData> supplier, int i, boolean flag) {
@@ -161,6 +180,19 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
         this.chunkTypeCache = new Long2ByteOpenHashMap();
         this.chunkSaveCooldowns = new Long2LongOpenHashMap();
         this.unloadQueue = Queues.newConcurrentLinkedQueue();
+        this.movementBatcher = new EntityMovementBatcher(worldserver.getServer().getEntityMovementBatching());
+        this.changeCoalescer = new ChunkChangeCoalescer(worldserver.getServer().getBlockChangeCoalescing());
+        this.adaptiveTracker = new AdaptiveEntityTracker(worldserver.getServer().getAdaptiveEntityTracking());
+        this.parallelTracker = new ParallelEntityTracker(worldserver.getServer().getParallelEntityTracking());
+        this.loadPriority = new ChunkLoadPriority(worldserver.getServer().getChunkLoadPriority());
+        this.loadCancellation = new ChunkLoadCancellation(worldserver.getServer().getChunkLoadCancellation());
+        this.fullChunks = new ConcurrentChunkTable();
+        this.unloadCache = new ChunkUnloadCache(worldserver.getServer().getChunkUnloadCache());
+        this.tickingChunks = new TickingChunkTracker();
+        this.tickRegions = new TickRegions();
+        this.trackerIndex = new ChunkColumnIndex<>();
+        this.playerIndex = new ChunkColumnIndex<>();
+        this.movedTrackers = new ReferenceLinkedOpenHashSet();
         this.structureTemplateManager = structuretemplatemanager;
         Path path = convertable_conversionsession.getDimensionPath(worldserver.dimension());
 
@@ -269,6 +301,10 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
         };
     }
 
+    int getChunkQueuePriority(long i, int j) {
+        return this.loadPriority.getQueueLevel(i, j);
+    }
+
     public String getChunkDebugData(ChunkCoordIntPair chunkcoordintpair) {
         PlayerChunk playerchunk = this.getVisibleChunkIfPresent(chunkcoordintpair.toLong());
 
@@ -411,8 +447,10 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
             if (playerchunk != null) {
                 if (j > PlayerChunkMap.MAX_CHUNK_DISTANCE) {
                     this.toDrop.add(i);
+                    this.unloadCache.onDropRequested(i, this.level.getGameTime());
                 } else {
                     this.toDrop.remove(i);
+                    this.unloadCache.onDropCancelled(i);
                 }
             }
 
@@ -484,6 +522,11 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
 
         gameprofilerfiller.push("poi");
         this.poiManager.tick(booleansupplier);
+        if (this.loadPriority.settings().enabled()) {
+            gameprofilerfiller.popPush("chunk_priority");
+            this.tickLoadPriority();
+        }
+
         gameprofilerfiller.popPush("chunk_unload");
         if (!this.level.noSave()) {
             this.processUnloads(booleansupplier);
@@ -492,22 +535,52 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
         gameprofilerfiller.pop();
     }
 
+    private void tickLoadPriority() {
+        boolean flag = this.loadPriority.tick(this.level.players(), this.viewDistance - 1);
+
+        if (flag || ++this.loadPriorityTicks >= this.loadPriority.settings().updateInterval()) {
+            this.loadPriorityTicks = 0;
+            ObjectIterator objectiterator = this.updatingChunkMap.values().iterator();
+
+            while (objectiterator.hasNext()) {
+                PlayerChunk playerchunk = (PlayerChunk) objectiterator.next();
+                int i = playerchunk.getTicketLevel();
+
+                if (i <= PlayerChunkMap.MAX_CHUNK_DISTANCE && !playerchunk.getChunkToSave().isDone()) {
+                    int j = this.loadPriority.getQueueLevel(playerchunk.getPos().toLong(), i);
+
+                    if (j != playerchunk.getQueueLevel()) {
+                        playerchunk.updateQueueLevel(j);
+                    }
+                }
+            }
+        }
+
+    }
+
     public boolean hasWork() {
         return this.lightEngine.hasLightWork() || !this.pendingUnloads.isEmpty() || !this.updatingChunkMap.isEmpty() || this.poiManager.hasWork() || !this.toDrop.isEmpty() || !this.unloadQueue.isEmpty() || this.queueSorter.hasWork() || this.distanceManager.hasTickets();
     }
 
     private void processUnloads(BooleanSupplier booleansupplier) {
         LongIterator longiterator = this.toDrop.iterator();
+        long i = this.level.getGameTime();
+        int j = 0;
 
-        for (int i = 0; longiterator.hasNext() && (booleansupplier.getAsBoolean() || i < 200 || this.toDrop.size() > 2000); longiterator.remove()) {
-            long j = longiterator.nextLong();
-            PlayerChunk playerchunk = (PlayerChunk) this.updatingChunkMap.remove(j);
+        while (longiterator.hasNext() && (booleansupplier.getAsBoolean() || j < 200 || this.toDrop.size() > 2000)) {
+            long i1 = longiterator.nextLong();
 
-            if (playerchunk != null) {
-                this.pendingUnloads.put(j, playerchunk);
-                this.modified = true;
-                ++i;
-                this.scheduleUnload(j, playerchunk);
+            if (this.toDrop.size() > 2000 || !this.unloadCache.isUnloadDelayed(i1, i)) {
+                longiterator.remove();
+                this.unloadCache.onUnload(i1);
+                PlayerChunk playerchunk = (PlayerChunk) this.updatingChunkMap.remove(i1);
+
+                if (playerchunk != null) {
+                    this.pendingUnloads.put(i1, playerchunk);
+                    this.modified = true;
+                    ++j;
+                    this.scheduleUnload(i1, playerchunk);
+                }
             }
         }
 
@@ -544,7 +617,12 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
                         ((Chunk) ichunkaccess).setLoaded(false);
                     }
 
-                    this.save(ichunkaccess);
+                    NBTTagCompound nbttagcompound = this.saveChunk(ichunkaccess);
+
+                    if (nbttagcompound != null) {
+                        this.unloadCache.retain(i, nbttagcompound);
+                    }
+
                     if (this.entitiesInLevel.remove(i) && ichunkaccess instanceof Chunk) {
                         Chunk chunk = (Chunk) ichunkaccess;
 
@@ -584,7 +662,7 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
         ChunkCoordIntPair chunkcoordintpair = playerchunk.getPos();
 
         if (chunkstatus == ChunkStatus.EMPTY) {
-            return this.scheduleChunkLoad(chunkcoordintpair);
+            return this.scheduleChunkLoad(chunkcoordintpair, this.loadCancellation.token(playerchunk));
         } else {
             if (chunkstatus == ChunkStatus.LIGHT) {
                 this.distanceManager.addTicket(TicketType.LIGHT, chunkcoordintpair, 33 + ChunkStatus.getDistance(ChunkStatus.LIGHT), chunkcoordintpair);
@@ -605,8 +683,11 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
         }
     }
 
-    private CompletableFuture<Either<IChunkAccess, PlayerChunk.Failure>> scheduleChunkLoad(ChunkCoordIntPair chunkcoordintpair) {
-        return this.readChunk(chunkcoordintpair).thenApply((optional) -> {
+    private CompletableFuture<Either<IChunkAccess, PlayerChunk.Failure>> scheduleChunkLoad(ChunkCoordIntPair chunkcoordintpair, BooleanSupplier booleansupplier) {
+        NBTTagCompound nbttagcompound = this.unloadCache.take(chunkcoordintpair.toLong());
+        CompletableFuture<Optional<NBTTagCompound>> completablefuture = nbttagcompound != null ? CompletableFuture.completedFuture(Optional.of(nbttagcompound)) : this.readChunk(chunkcoordintpair, booleansupplier);
+
+        return completablefuture.thenApply((optional) -> {
             return optional.filter((nbttagcompound) -> {
                 boolean flag = isChunkDataValid(nbttagcompound);
 
@@ -617,17 +698,27 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
                 return flag;
             });
         }).thenApplyAsync((optional) -> {
-            this.level.getProfiler().incrementCounter("chunkLoad");
-            if (optional.isPresent()) {
-                ProtoChunk protochunk = ChunkRegionLoader.read(this.level, this.poiManager, chunkcoordintpair, (NBTTagCompound) optional.get());
-
-                this.markPosition(chunkcoordintpair, protochunk.getStatus().getChunkType());
-                return Either.left(protochunk);
+            if (booleansupplier.getAsBoolean()) {
+                this.loadCancellation.onLoadCancelled();
+                return PlayerChunk.UNLOADED_CHUNK;
             } else {
-                return Either.left(this.createEmptyChunk(chunkcoordintpair));
+                this.level.getProfiler().incrementCounter("chunkLoad");
+                if (optional.isPresent()) {
+                    ProtoChunk protochunk = ChunkRegionLoader.read(this.level, this.poiManager, chunkcoordintpair, (NBTTagCompound) optional.get());
+
+                    this.markPosition(chunkcoordintpair, protochunk.getStatus().getChunkType());
+                    return Either.left(protochunk);
+                } else {
+                    return Either.left(this.createEmptyChunk(chunkcoordintpair));
+                }
             }
         }, this.mainThreadExecutor).exceptionallyAsync((throwable) -> {
-            return this.handleChunkLoadFailure(throwable, chunkcoordintpair);
+            if (booleansupplier.getAsBoolean()) {
+                this.loadCancellation.onReadCancelled();
+                return PlayerChunk.UNLOADED_CHUNK;
+            } else {
+                return this.handleChunkLoadFailure(throwable, chunkcoordintpair);
+            }
         }, this.mainThreadExecutor);
     }
 
@@ -678,34 +769,49 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
         Executor executor = (runnable) -> {
             this.worldgenMailbox.tell(ChunkTaskQueueSorter.message(playerchunk, runnable));
         };
+        BooleanSupplier booleansupplier = this.loadCancellation.token(playerchunk);
+        Executor executor1 = (runnable) -> {
+            if (booleansupplier.getAsBoolean()) {
+                runnable.run();
+            } else {
+                executor.execute(runnable);
+            }
+
+        };
 
         return completablefuture.thenComposeAsync((either) -> {
-            return (CompletionStage) either.map((list) -> {
-                try {
-                    CompletableFuture<Either<IChunkAccess, PlayerChunk.Failure>> completablefuture1 = chunkstatus.generate(executor, this.level, this.generator, this.structureTemplateManager, this.lightEngine, (ichunkaccess) -> {
-                        return this.protoChunkToFullChunk(playerchunk);
-                    }, list, false);
-
-                    this.progressListener.onStatusChange(chunkcoordintpair, chunkstatus);
-                    return completablefuture1;
-                } catch (Exception exception) {
-                    exception.getStackTrace();
-                    CrashReport crashreport = CrashReport.forThrowable(exception, "Exception generating new chunk");
-                    CrashReportSystemDetails crashreportsystemdetails = crashreport.addCategory("Chunk to be generated");
-
-                    crashreportsystemdetails.setDetail("Location", (Object) String.format(Locale.ROOT, "%d,%d", chunkcoordintpair.x, chunkcoordintpair.z));
-                    crashreportsystemdetails.setDetail("Position hash", (Object) ChunkCoordIntPair.asLong(chunkcoordintpair.x, chunkcoordintpair.z));
-                    crashreportsystemdetails.setDetail("Generator", (Object) this.generator);
-                    this.mainThreadExecutor.execute(() -> {
-                        throw new ReportedException(crashreport);
-                    });
-                    throw new ReportedException(crashreport);
-                }
-            }, (playerchunk_failure) -> {
+            if (booleansupplier.getAsBoolean()) {
+                this.loadCancellation.onGenerationCancelled();
                 this.releaseLightTicket(chunkcoordintpair);
-                return CompletableFuture.completedFuture(Either.right(playerchunk_failure));
-            });
-        }, executor);
+                return CompletableFuture.completedFuture(PlayerChunk.UNLOADED_CHUNK);
+            } else {
+                return (CompletionStage) either.map((list) -> {
+                    try {
+                        CompletableFuture<Either<IChunkAccess, PlayerChunk.Failure>> completablefuture1 = chunkstatus.generate(executor, this.level, this.generator, this.structureTemplateManager, this.lightEngine, (ichunkaccess) -> {
+                            return this.protoChunkToFullChunk(playerchunk);
+                        }, list, false);
+
+                        this.progressListener.onStatusChange(chunkcoordintpair, chunkstatus);
+                        return completablefuture1;
+                    } catch (Exception exception) {
+                        exception.getStackTrace();
+                        CrashReport crashreport = CrashReport.forThrowable(exception, "Exception generating new chunk");
+                        CrashReportSystemDetails crashreportsystemdetails = crashreport.addCategory("Chunk to be generated");
+
+                        crashreportsystemdetails.setDetail("Location", (Object) String.format(Locale.ROOT, "%d,%d", chunkcoordintpair.x, chunkcoordintpair.z));
+                        crashreportsystemdetails.setDetail("Position hash", (Object) ChunkCoordIntPair.asLong(chunkcoordintpair.x, chunkcoordintpair.z));
+                        crashreportsystemdetails.setDetail("Generator", (Object) this.generator);
+                        this.mainThreadExecutor.execute(() -> {
+                            throw new ReportedException(crashreport);
+                        });
+                        throw new ReportedException(crashreport);
+                    }
+                }, (playerchunk_failure) -> {
+                    this.releaseLightTicket(chunkcoordintpair);
+                    return CompletableFuture.completedFuture(Either.right(playerchunk_failure));
+                });
+            }
+        }, executor1);
     }
 
     protected void releaseLightTicket(ChunkCoordIntPair chunkcoordintpair) {
@@ -855,9 +961,14 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
     }
 
     public boolean save(IChunkAccess ichunkaccess) {
+        return this.saveChunk(ichunkaccess) != null;
+    }
+
+    @Nullable
+    private NBTTagCompound saveChunk(IChunkAccess ichunkaccess) {
         this.poiManager.flush(ichunkaccess.getPos());
         if (!ichunkaccess.isUnsaved()) {
-            return false;
+            return null;
         } else {
             ichunkaccess.setUnsaved(false);
             ChunkCoordIntPair chunkcoordintpair = ichunkaccess.getPos();
@@ -867,11 +978,11 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
 
                 if (chunkstatus.getChunkType() != ChunkStatus.Type.LEVELCHUNK) {
                     if (this.isExistingChunkFull(chunkcoordintpair)) {
-                        return false;
+                        return null;
                     }
 
                     if (chunkstatus == ChunkStatus.EMPTY && ichunkaccess.getAllStarts().values().stream().noneMatch(StructureStart::isValid)) {
-                        return false;
+                        return null;
                     }
                 }
 
@@ -880,10 +991,10 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
 
                 this.write(chunkcoordintpair, nbttagcompound);
                 this.markPosition(chunkcoordintpair, chunkstatus.getChunkType());
-                return true;
+                return nbttagcompound;
             } catch (Exception exception) {
                 PlayerChunkMap.LOGGER.error("Failed to save chunk {},{}", new Object[]{chunkcoordintpair.x, chunkcoordintpair.z, exception});
-                return false;
+                return null;
             }
         }
     }
@@ -921,6 +1032,7 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
             int k = this.viewDistance;
 
             this.viewDistance = j;
+            this.trackingRadius = Math.max(this.trackingRadius, j);
             this.distanceManager.updatePlayerTickets(this.viewDistance + 1);
             ObjectIterator objectiterator = this.updatingChunkMap.values().iterator();
 
@@ -968,6 +1080,27 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
         return this.visibleChunkMap.size();
     }
 
+    public AdaptiveEntityTracker getAdaptiveTracker() {
+        return this.adaptiveTracker;
+    }
+
+    public ChunkChangeCoalescer getChangeCoalescer() {
+        return this.changeCoalescer;
+    }
+
+    public ChunkLoadCancellation getLoadCancellation() {
+        return this.loadCancellation;
+    }
+
+    public ChunkUnloadCache getUnloadCache() {
+        return this.unloadCache;
+    }
+
+    public TickRegions analyzeTickRegions(int i) {
+        this.tickingChunks.analyzeRegions(this.tickRegions, i);
+        return this.tickRegions;
+    }
+
     public ChunkMapDistance getDistanceManager() {
         return this.distanceManager;
     }
@@ -1019,8 +1152,12 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
     }
 
     private CompletableFuture<Optional<NBTTagCompound>> readChunk(ChunkCoordIntPair chunkcoordintpair) {
-        return this.read(chunkcoordintpair).thenApplyAsync((optional) -> {
-            return optional.map(this::upgradeChunkTag);
+        return this.readChunk(chunkcoordintpair, ChunkLoadCancellation.NOT_CANCELLED);
+    }
+
+    private CompletableFuture<Optional<NBTTagCompound>> readChunk(ChunkCoordIntPair chunkcoordintpair, BooleanSupplier booleansupplier) {
+        return this.read(chunkcoordintpair, booleansupplier).thenApplyAsync((optional) -> {
+            return booleansupplier.getAsBoolean() ? Optional.empty() : optional.map(this::upgradeChunkTag);
         }, SystemUtils.backgroundExecutor());
     }
 
@@ -1127,24 +1264,24 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
     }
 
     public void move(EntityPlayer entityplayer) {
-        ObjectIterator objectiterator = this.entityMap.values().iterator();
+        SectionPosition sectionposition = entityplayer.getLastSectionPos();
+        SectionPosition sectionposition1 = SectionPosition.of((EntityAccess) entityplayer);
+        long k = sectionposition.chunk().toLong();
+        long l = sectionposition1.chunk().toLong();
+        PlayerChunkMap.EntityTracker playerchunkmap_entitytracker = (PlayerChunkMap.EntityTracker) this.entityMap.get(entityplayer.getId());
 
-        while (objectiterator.hasNext()) {
-            PlayerChunkMap.EntityTracker playerchunkmap_entitytracker = (PlayerChunkMap.EntityTracker) objectiterator.next();
+        if (playerchunkmap_entitytracker != null) {
+            this.playerIndex.forEachNear(k, l, this.trackingRadius, playerchunkmap_entitytracker::updatePlayer);
+        }
 
-            if (playerchunkmap_entitytracker.entity == entityplayer) {
-                playerchunkmap_entitytracker.updatePlayers(this.level.players());
-            } else {
-                playerchunkmap_entitytracker.updatePlayer(entityplayer);
+        this.trackerIndex.forEachNear(k, l, this.trackingRadius, (playerchunkmap_entitytracker1) -> {
+            if (playerchunkmap_entitytracker1.entity != entityplayer) {
+                playerchunkmap_entitytracker1.updatePlayer(entityplayer);
             }
-        }
 
+        });
         int i = SectionPosition.blockToSectionCoord(entityplayer.getBlockX());
         int j = SectionPosition.blockToSectionCoord(entityplayer.getBlockZ());
-        SectionPosition sectionposition = entityplayer.getLastSectionPos();
-        SectionPosition sectionposition1 = SectionPosition.of((EntityAccess) entityplayer);
-        long k = sectionposition.chunk().toLong();
-        long l = sectionposition1.chunk().toLong();
         boolean flag = this.playerMap.ignored(entityplayer);
         boolean flag1 = this.skipPlayer(entityplayer);
         boolean flag2 = sectionposition.asLong() != sectionposition1.asLong();
@@ -1249,21 +1386,22 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
                 } else {
                     PlayerChunkMap.EntityTracker playerchunkmap_entitytracker = new PlayerChunkMap.EntityTracker(entity, i, j, entitytypes.trackDeltas());
 
+                    long k = playerchunkmap_entitytracker.lastSectionPos.chunk().toLong();
+
                     this.entityMap.put(entity.getId(), playerchunkmap_entitytracker);
-                    playerchunkmap_entitytracker.updatePlayers(this.level.players());
+                    this.trackerIndex.add(k, playerchunkmap_entitytracker);
+                    this.playerIndex.forEachNear(k, this.trackingRadius, playerchunkmap_entitytracker::updatePlayer);
                     if (entity instanceof EntityPlayer) {
                         EntityPlayer entityplayer = (EntityPlayer) entity;
 
+                        this.playerIndex.add(k, entityplayer);
                         this.updatePlayerStatus(entityplayer, true);
-                        ObjectIterator objectiterator = this.entityMap.values().iterator();
-
-                        while (objectiterator.hasNext()) {
-                            PlayerChunkMap.EntityTracker playerchunkmap_entitytracker1 = (PlayerChunkMap.EntityTracker) objectiterator.next();
-
+                        this.trackerIndex.forEachNear(k, this.trackingRadius, (playerchunkmap_entitytracker1) -> {
                             if (playerchunkmap_entitytracker1.entity != entityplayer) {
                                 playerchunkmap_entitytracker1.updatePlayer(entityplayer);
                             }
-                        }
+
+                        });
                     }
 
                 }
@@ -1288,49 +1426,122 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
         PlayerChunkMap.EntityTracker playerchunkmap_entitytracker1 = (PlayerChunkMap.EntityTracker) this.entityMap.remove(entity.getId());
 
         if (playerchunkmap_entitytracker1 != null) {
+            long i = playerchunkmap_entitytracker1.lastSectionPos.chunk().toLong();
+
+            this.trackerIndex.remove(i, playerchunkmap_entitytracker1);
+            this.movedTrackers.remove(playerchunkmap_entitytracker1);
+            if (entity instanceof EntityPlayer) {
+                this.playerIndex.remove(i, (EntityPlayer) entity);
+            }
+
             playerchunkmap_entitytracker1.broadcastRemoved();
         }
 
     }
 
+    void onEntitySectionChange(Entity entity) {
+        PlayerChunkMap.EntityTracker playerchunkmap_entitytracker = (PlayerChunkMap.EntityTracker) this.entityMap.get(entity.getId());
+
+        if (playerchunkmap_entitytracker != null) {
+            this.movedTrackers.add(playerchunkmap_entitytracker);
+        }
+
+    }
+
     protected void tick() {
         List<EntityPlayer> list = Lists.newArrayList();
-        List<EntityPlayer> list1 = this.level.players();
-        ObjectIterator objectiterator = this.entityMap.values().iterator();
+        LongList longlist = new LongArrayList();
+        LongList longlist1 = new LongArrayList();
+        List<PlayerChunkMap.EntityTracker> list1 = Lists.newArrayList();
+        List<PlayerChunkMap.EntityTracker> list2 = Lists.newArrayListWithCapacity(this.entityMap.size());
+        boolean flag = this.movementBatcher.settings().enabled() || this.adaptiveTracker.settings().enabled();
+        int i = this.level.getServer().getTickCount();
+        int j = this.trackingRadius;
+
+        this.adaptiveTracker.tick(this.level.players(), i, this.level.getServer().getAverageTickTime());
+        if (this.adaptiveTracker.settings().enabled()) {
+            Iterator iterator3 = this.level.players().iterator();
+
+            while (iterator3.hasNext()) {
+                EntityPlayer entityplayer2 = (EntityPlayer) iterator3.next();
+
+                if (this.adaptiveTracker.isRecheckTick(entityplayer2, i)) {
+                    this.trackerIndex.forEachNear(SectionPosition.of((EntityAccess) entityplayer2).chunk().toLong(), j, (playerchunkmap_entitytracker4) -> {
+                        playerchunkmap_entitytracker4.updatePlayer(entityplayer2);
+                    });
+                }
+            }
+        }
 
-        PlayerChunkMap.EntityTracker playerchunkmap_entitytracker;
+        Iterator iterator = this.movedTrackers.iterator();
 
-        while (objectiterator.hasNext()) {
-            playerchunkmap_entitytracker = (PlayerChunkMap.EntityTracker) objectiterator.next();
+        while (iterator.hasNext()) {
+            PlayerChunkMap.EntityTracker playerchunkmap_entitytracker = (PlayerChunkMap.EntityTracker) iterator.next();
             SectionPosition sectionposition = playerchunkmap_entitytracker.lastSectionPos;
             SectionPosition sectionposition1 = SectionPosition.of((EntityAccess) playerchunkmap_entitytracker.entity);
-            boolean flag = !Objects.equals(sectionposition, sectionposition1);
 
-            if (flag) {
-                playerchunkmap_entitytracker.updatePlayers(list1);
+            if (!Objects.equals(sectionposition, sectionposition1)) {
+                long k = sectionposition.chunk().toLong();
+                long l = sectionposition1.chunk().toLong();
                 Entity entity = playerchunkmap_entitytracker.entity;
 
+                this.trackerIndex.move(k, l, playerchunkmap_entitytracker);
                 if (entity instanceof EntityPlayer) {
-                    list.add((EntityPlayer) entity);
+                    EntityPlayer entityplayer = (EntityPlayer) entity;
+
+                    this.playerIndex.move(k, l, entityplayer);
+                    list.add(entityplayer);
+                    longlist.add(k);
+                    longlist1.add(l);
                 }
 
+                this.playerIndex.forEachNear(k, l, j, playerchunkmap_entitytracker::updatePlayer);
                 playerchunkmap_entitytracker.lastSectionPos = sectionposition1;
+                list1.add(playerchunkmap_entitytracker);
             }
+        }
+
+        this.movedTrackers.clear();
+        ObjectIterator objectiterator = this.trackerIndex.columns();
+
+        while (objectiterator.hasNext()) {
+            Entry<Set<PlayerChunkMap.EntityTracker>> entry = (Entry) objectiterator.next();
+
+            if (this.distanceManager.inEntityTickingRange(entry.getLongKey())) {
+                Iterator iterator1 = ((Set) entry.getValue()).iterator();
 
-            if (flag || this.distanceManager.inEntityTickingRange(sectionposition1.chunk().toLong())) {
-                playerchunkmap_entitytracker.serverEntity.sendChanges();
+                while (iterator1.hasNext()) {
+                    list2.add((PlayerChunkMap.EntityTracker) iterator1.next());
+                }
             }
         }
 
-        if (!list.isEmpty()) {
-            objectiterator = this.entityMap.values().iterator();
+        Iterator iterator2 = list1.iterator();
 
-            while (objectiterator.hasNext()) {
-                playerchunkmap_entitytracker = (PlayerChunkMap.EntityTracker) objectiterator.next();
-                playerchunkmap_entitytracker.updatePlayers(list);
+        while (iterator2.hasNext()) {
+            PlayerChunkMap.EntityTracker playerchunkmap_entitytracker1 = (PlayerChunkMap.EntityTracker) iterator2.next();
+
+            if (!this.distanceManager.inEntityTickingRange(playerchunkmap_entitytracker1.lastSectionPos.chunk().toLong())) {
+                list2.add(playerchunkmap_entitytracker1);
             }
         }
 
+        this.parallelTracker.sendChanges(list2, (playerchunkmap_entitytracker2) -> {
+            if (flag) {
+                playerchunkmap_entitytracker2.syncStaleViewers(i);
+            }
+
+        });
+        this.movementBatcher.flush();
+
+        for (int i1 = 0; i1 < list.size(); ++i1) {
+            EntityPlayer entityplayer1 = (EntityPlayer) list.get(i1);
+
+            this.trackerIndex.forEachNear(longlist.getLong(i1), longlist1.getLong(i1), j, (playerchunkmap_entitytracker3) -> {
+                playerchunkmap_entitytracker3.updatePlayer(entityplayer1);
+            });
+        }
+
     }
 
     public void broadcast(Entity entity, Packet<?> packet) {
@@ -1382,13 +1593,17 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
         }
 
         entityplayer.trackChunk(chunk.getPos(), (Packet) mutableobject.getValue());
+        PlayerChunk playerchunk = this.getVisibleChunkIfPresent(chunk.getPos().toLong());
+
+        if (playerchunk != null) {
+            playerchunk.invalidateSentLight();
+        }
+
         PacketDebug.sendPoiPacketsForChunk(this.level, chunk.getPos());
         List<Entity> list = Lists.newArrayList();
         List<Entity> list1 = Lists.newArrayList();
-        ObjectIterator objectiterator = this.entityMap.values().iterator();
 
-        while (objectiterator.hasNext()) {
-            PlayerChunkMap.EntityTracker playerchunkmap_entitytracker = (PlayerChunkMap.EntityTracker) objectiterator.next();
+        this.trackerIndex.forEachNear(chunk.getPos().toLong(), 1, (playerchunkmap_entitytracker) -> {
             Entity entity = playerchunkmap_entitytracker.entity;
 
             if (entity != entityplayer && entity.chunkPosition().equals(chunk.getPos())) {
@@ -1401,7 +1616,8 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
                     list1.add(entity);
                 }
             }
-        }
+
+        });
 
         Iterator iterator;
         Entity entity1;
@@ -1434,7 +1650,25 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
         return this.storageName;
     }
 
+    void onTickingStatusChange(PlayerChunk playerchunk, boolean flag) {
+        this.tickingChunks.setTicking(playerchunk, flag);
+    }
+
+    @Override
+    public void onChangesPending(PlayerChunk playerchunk) {
+        this.tickingChunks.markPendingBroadcast(playerchunk);
+    }
+
     void onFullChunkStatusChange(ChunkCoordIntPair chunkcoordintpair, PlayerChunk.State playerchunk_state) {
+        PlayerChunk playerchunk = playerchunk_state.isOrAfter(PlayerChunk.State.BORDER) ? this.getUpdatingChunkIfPresent(chunkcoordintpair.toLong()) : null;
+        Chunk chunk = playerchunk == null ? null : playerchunk.getFullChunk();
+
+        if (chunk != null) {
+            this.fullChunks.put(chunk);
+        } else {
+            this.fullChunks.remove(chunkcoordintpair.toLong());
+        }
+
         this.chunkStatusListener.onChunkStatusChange(chunkcoordintpair, playerchunk_state);
     }
 
@@ -1469,9 +1703,12 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
         private final int range;
         SectionPosition lastSectionPos;
         public final Set<ServerPlayerConnection> seenBy = Sets.newIdentityHashSet();
+        private final Set<ServerPlayerConnection> staleViewers = Sets.newIdentityHashSet();
+        @Nullable
+        private List<ParallelEntityTracker.Deferred> deferred;
 
         public EntityTracker(Entity entity, int i, int j, boolean flag) {
-            this.serverEntity = new EntityTrackerEntry(PlayerChunkMap.this.level, entity, j, flag, this::broadcast);
+            this.serverEntity = PlayerChunkMap.this.movementBatcher.settings().enabled() || PlayerChunkMap.this.adaptiveTracker.settings().enabled() ? new EntityTrackerEntry(PlayerChunkMap.this.level, entity, j, flag, this::broadcast, this::broadcastMovement) : new EntityTrackerEntry(PlayerChunkMap.this.level, entity, j, flag, this::broadcast);
             this.entity = entity;
             this.range = i;
             this.lastSectionPos = SectionPosition.of((EntityAccess) entity);
@@ -1485,7 +1722,38 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
             return this.entity.getId();
         }
 
+        void startDeferring() {
+            this.deferred = Lists.newArrayListWithCapacity(4);
+        }
+
+        boolean isDeferring() {
+            return this.deferred != null;
+        }
+
+        void flushDeferred() {
+            List<ParallelEntityTracker.Deferred> list = this.deferred;
+
+            this.deferred = null;
+            Iterator iterator = list.iterator();
+
+            while (iterator.hasNext()) {
+                ParallelEntityTracker.Deferred parallelentitytracker_deferred = (ParallelEntityTracker.Deferred) iterator.next();
+
+                if (parallelentitytracker_deferred.movement()) {
+                    this.broadcastMovement(parallelentitytracker_deferred.packet());
+                } else {
+                    this.broadcast(parallelentitytracker_deferred.packet());
+                }
+            }
+
+        }
+
         public void broadcast(Packet<?> packet) {
+            if (this.deferred != null) {
+                this.deferred.add(new ParallelEntityTracker.Deferred(packet, false));
+                return;
+            }
+
             Iterator iterator = this.seenBy.iterator();
 
             while (iterator.hasNext()) {
@@ -1496,6 +1764,63 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
 
         }
 
+        public void broadcastMovement(Packet<?> packet) {
+            if (this.deferred != null) {
+                this.deferred.add(new ParallelEntityTracker.Deferred(packet, true));
+                return;
+            }
+
+            boolean flag = packet instanceof PacketPlayOutEntityTeleport;
+            Iterator iterator = this.seenBy.iterator();
+
+            while (iterator.hasNext()) {
+                ServerPlayerConnection serverplayerconnection = (ServerPlayerConnection) iterator.next();
+
+                if (flag) {
+                    this.staleViewers.remove(serverplayerconnection);
+                    this.sendMovement(serverplayerconnection, packet);
+                } else if (!this.isFullRate(serverplayerconnection.getPlayer())) {
+                    this.staleViewers.add(serverplayerconnection);
+                } else if (this.staleViewers.remove(serverplayerconnection)) {
+                    this.serverEntity.sendPositionSync((packet1) -> {
+                        this.sendMovement(serverplayerconnection, packet1);
+                    });
+                } else {
+                    this.sendMovement(serverplayerconnection, packet);
+                }
+            }
+
+        }
+
+        private void sendMovement(ServerPlayerConnection serverplayerconnection, Packet<?> packet) {
+            if (PlayerChunkMap.this.movementBatcher.settings().enabled()) {
+                PlayerChunkMap.this.movementBatcher.add(serverplayerconnection, this.entity, packet);
+            } else {
+                serverplayerconnection.send(packet);
+            }
+
+        }
+
+        private boolean isFullRate(EntityPlayer entityplayer) {
+            return (!PlayerChunkMap.this.movementBatcher.settings().enabled() || PlayerChunkMap.this.movementBatcher.isNear(entityplayer, this.entity)) && PlayerChunkMap.this.adaptiveTracker.isFullRate(entityplayer, this.entity);
+        }
+
+        void syncStaleViewers(int i) {
+            if (!this.staleViewers.isEmpty() && (PlayerChunkMap.this.adaptiveTracker.settings().enabled() ? PlayerChunkMap.this.adaptiveTracker.isReducedSyncTick(this.entity, i) : PlayerChunkMap.this.movementBatcher.isFarSyncTick(this.entity, i))) {
+                Iterator iterator = this.staleViewers.iterator();
+
+                while (iterator.hasNext()) {
+                    ServerPlayerConnection serverplayerconnection = (ServerPlayerConnection) iterator.next();
+
+                    this.serverEntity.sendPositionSync((packet) -> {
+                        this.sendMovement(serverplayerconnection, packet);
+                    });
+                }
+
+                this.staleViewers.clear();
+            }
+        }
+
         public void broadcastAndSend(Packet<?> packet) {
             this.broadcast(packet);
             if (this.entity instanceof EntityPlayer) {
@@ -1516,6 +1841,7 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
         }
 
         public void removePlayer(EntityPlayer entityplayer) {
+            this.staleViewers.remove(entityplayer.connection);
             if (this.seenBy.remove(entityplayer.connection)) {
                 this.serverEntity.removePairing(entityplayer);
             }
@@ -1525,16 +1851,21 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.e {
         public void updatePlayer(EntityPlayer entityplayer) {
             if (entityplayer != this.entity) {
                 Vec3D vec3d = entityplayer.position().subtract(this.entity.position());
-                double d0 = (double) Math.min(this.getEffectiveRange(), (PlayerChunkMap.this.viewDistance - 1) * 16);
+                double d0 = (double) Math.min(PlayerChunkMap.this.adaptiveTracker.getRange(entityplayer, this.entity, this.getEffectiveRange(), this.seenBy.contains(entityplayer.connection)), (PlayerChunkMap.this.viewDistance - 1) * 16);
                 double d1 = vec3d.x * vec3d.x + vec3d.z * vec3d.z;
                 double d2 = d0 * d0;
                 boolean flag = d1 <= d2 && this.entity.broadcastToPlayer(entityplayer);
 
                 if (flag) {
                     if (this.seenBy.add(entityplayer.connection)) {
+                        if (this.entity instanceof EntityPlayer) {
+                            PlayerChunkMap.this.level.getServer().getPlayerList().getPlayerInfoBatcher().ensureKnown(entityplayer, (EntityPlayer) this.entity);
+                        }
+
                         this.serverEntity.addPairing(entityplayer);
                     }
                 } else if (this.seenBy.remove(entityplayer.connection)) {
+                    this.staleViewers.remove(entityplayer.connection);
                     this.serverEntity.removePairing(entityplayer);
                 }
 
@@ -58,7 +58,7 @@ public class PlayerInteractManager {
         } else {
             this.setGameModeForPlayer(enumgamemode, this.previousGameModeForPlayer);
             this.player.onUpdateAbilities();
-            this.player.server.getPlayerList().broadcastAll(new ClientboundPlayerInfoUpdatePacket(ClientboundPlayerInfoUpdatePacket.a.UPDATE_GAME_MODE, this.player));
+            this.player.server.getPlayerList().getPlayerInfoBatcher().queueUpdate(this.player, ClientboundPlayerInfoUpdatePacket.a.UPDATE_GAME_MODE);
             this.level.updateSleepingPlayerList();
             return true;
         }
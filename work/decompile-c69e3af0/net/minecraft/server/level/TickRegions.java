@@ -0,0 +1,152 @@
+package net.minecraft.server.level;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import net.minecraft.SystemUtils;
+import net.minecraft.world.level.ChunkCoordIntPair;
+
+public class TickRegions {
+
+    public static final int DEFAULT_BUFFER_CHUNKS = 2;
+    private int regionCount;
+    private int largestRegion;
+    private int chunkCount;
+    private int bufferChunks;
+    private long rebuilds;
+    private long merges;
+    private long splits;
+    private long lastRebuildNanos;
+    private Long2IntMap lastRegions = new Long2IntOpenHashMap();
+
+    public TickRegions() {
+        this.lastRegions.defaultReturnValue(-1);
+    }
+
+    void rebuild(List<PlayerChunk> list, int i) {
+        long i2 = SystemUtils.getNanos();
+        int j = list.size();
+        Long2IntMap long2intmap = new Long2IntOpenHashMap(j);
+        int[] aint = new int[j];
+
+        long2intmap.defaultReturnValue(-1);
+
+        for (int k = 0; k < j; ++k) {
+            long2intmap.put(((PlayerChunk) list.get(k)).getPos().toLong(), k);
+            aint[k] = k;
+        }
+
+        for (int i1 = 0; i1 < j; ++i1) {
+            ChunkCoordIntPair chunkcoordintpair = ((PlayerChunk) list.get(i1)).getPos();
+
+            for (int j1 = 0; j1 <= i; ++j1) {
+                for (int k1 = -i; k1 <= i; ++k1) {
+                    if (j1 > 0 || k1 > 0) {
+                        int l1 = long2intmap.get(ChunkCoordIntPair.asLong(chunkcoordintpair.x + j1, chunkcoordintpair.z + k1));
+
+                        if (l1 >= 0) {
+                            union(aint, i1, l1);
+                        }
+                    }
+                }
+            }
+        }
+
+        int[] aint1 = new int[j];
+        IntArrayList intarraylist = new IntArrayList();
+        Int2ObjectMap<IntSet> int2objectmap = new Int2ObjectOpenHashMap();
+        Int2ObjectMap<IntSet> int2objectmap1 = new Int2ObjectOpenHashMap();
+        Long2IntMap long2intmap1 = new Long2IntOpenHashMap(j);
+
+        Arrays.fill(aint1, -1);
+        long2intmap1.defaultReturnValue(-1);
+
+        for (int k3 = 0; k3 < j; ++k3) {
+            long l3 = ((PlayerChunk) list.get(k3)).getPos().toLong();
+            int i4 = this.lastRegions.get(l3);
+            int j2 = find(aint, k3);
+            int k2 = aint1[j2];
+
+            if (k2 < 0) {
+                k2 = intarraylist.size();
+                aint1[j2] = k2;
+                intarraylist.add(0);
+            }
+
+            intarraylist.set(k2, intarraylist.getInt(k2) + 1);
+            if (i4 >= 0) {
+                ((IntSet) int2objectmap.computeIfAbsent(k2, (l2) -> {
+                    return new IntOpenHashSet();
+                })).add(i4);
+                ((IntSet) int2objectmap1.computeIfAbsent(i4, (l2) -> {
+                    return new IntOpenHashSet();
+                })).add(k2);
+            }
+
+            long2intmap1.put(l3, k2);
+        }
+
+        int i3 = 0;
+
+        for (int j3 = 0; j3 < intarraylist.size(); ++j3) {
+            i3 = Math.max(i3, intarraylist.getInt(j3));
+        }
+
+        if (this.bufferChunks == i) {
+            this.merges += countExtra(int2objectmap);
+            this.splits += countExtra(int2objectmap1);
+        }
+
+        this.regionCount = intarraylist.size();
+        this.largestRegion = i3;
+        this.chunkCount = j;
+        this.bufferChunks = i;
+        this.lastRegions = long2intmap1;
+        ++this.rebuilds;
+        this.lastRebuildNanos = SystemUtils.getNanos() - i2;
+    }
+
+    private static long countExtra(Int2ObjectMap<IntSet> int2objectmap) {
+        long i = 0L;
+        ObjectIterator objectiterator = int2objectmap.values().iterator();
+
+        while (objectiterator.hasNext()) {
+            IntSet intset = (IntSet) objectiterator.next();
+
+            i += (long) (intset.size() - 1);
+        }
+
+        return i;
+    }
+
+    private static int find(int[] aint, int i) {
+        while (aint[i] != i) {
+            aint[i] = aint[aint[i]];
+            i = aint[i];
+        }
+
+        return i;
+    }
+
+    private static void union(int[] aint, int i, int j) {
+        int k = find(aint, i);
+        int l = find(aint, j);
+
+        if (k != l) {
+            aint[Math.max(k, l)] = Math.min(k, l);
+        }
+
+    }
+
+    public String format() {
+        return String.format(Locale.ROOT, "%d regions over %d ticking chunks with a %d chunk buffer, largest %d (%.0f%%), analysed in %.2f ms, %d merges and %d splits between %d analyses", this.regionCount, this.chunkCount, this.bufferChunks, this.largestRegion, this.chunkCount == 0 ? 0.0D : (double) this.largestRegion * 100.0D / (double) this.chunkCount, (double) this.lastRebuildNanos / 1000000.0D, this.merges, this.splits, this.rebuilds);
+    }
+}
@@ -0,0 +1,172 @@
+package net.minecraft.server.level;
+
+import it.unimi.dsi.fastutil.longs.Long2ByteMap;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import java.util.Locale;
+import java.util.function.IntSupplier;
+import java.util.function.LongConsumer;
+import net.minecraft.util.MathHelper;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.ChunkCoordIntPair;
+
+public class TicketPropagationBenchmark {
+
+    public static final int DEFAULT_PLAYERS = 200;
+    public static final int MAX_PLAYERS = 500;
+    private static final int TICKS = 200;
+    private static final int WARMUP_TICKS = 40;
+    private static final int MAX_DISTANCE = 33;
+    private static final int SPAWN_RADIUS = 64;
+    private static final double FLIGHT_SPEED = 0.25D;
+
+    public TicketPropagationBenchmark() {}
+
+    public static TicketPropagationBenchmark.Result run(int i, long j) {
+        TicketPropagationBenchmark.a ticketpropagationbenchmark_a = new TicketPropagationBenchmark.a(TicketPropagationBenchmark.MAX_DISTANCE);
+        ChunkLevelPropagator chunklevelpropagator = new ChunkLevelPropagator(TicketPropagationBenchmark.MAX_DISTANCE + 1) {
+        };
+
+        long k = simulate(i, j, ticketpropagationbenchmark_a::addSource, ticketpropagationbenchmark_a::removeSource, () -> {
+            ticketpropagationbenchmark_a.runAllUpdates();
+            return ticketpropagationbenchmark_a.chunks.size();
+        });
+        long l = simulate(i, j, (i1) -> {
+            chunklevelpropagator.setSource(i1, 0);
+        }, chunklevelpropagator::removeSource, () -> {
+            chunklevelpropagator.propagateUpdates();
+            return chunklevelpropagator.size();
+        });
+
+        return new TicketPropagationBenchmark.Result(i, TicketPropagationBenchmark.TICKS, k, l, chunklevelpropagator.size(), countMismatches(ticketpropagationbenchmark_a, chunklevelpropagator));
+    }
+
+    private static int countMismatches(TicketPropagationBenchmark.a ticketpropagationbenchmark_a, ChunkLevelPropagator chunklevelpropagator) {
+        int i = 0;
+        ObjectIterator objectiterator = ticketpropagationbenchmark_a.chunks.long2ByteEntrySet().iterator();
+
+        while (objectiterator.hasNext()) {
+            Long2ByteMap.Entry entry = (Long2ByteMap.Entry) objectiterator.next();
+
+            if (chunklevelpropagator.getLevel(entry.getLongKey()) != entry.getByteValue()) {
+                ++i;
+            }
+        }
+
+        return i + Math.max(0, chunklevelpropagator.size() - (ticketpropagationbenchmark_a.chunks.size() - i));
+    }
+
+    private static long simulate(int i, long j, LongConsumer longconsumer, LongConsumer longconsumer1, IntSupplier intsupplier) {
+        RandomSource randomsource = RandomSource.create(j);
+        double[] adouble = new double[i];
+        double[] adouble1 = new double[i];
+        double[] adouble2 = new double[i];
+        double[] adouble3 = new double[i];
+        long[] along = new long[i];
+        Long2IntMap long2intmap = new Long2IntOpenHashMap();
+
+        for (int k = 0; k < i; ++k) {
+            float f = randomsource.nextFloat() * 6.2831855F;
+
+            adouble[k] = (double) (randomsource.nextInt(TicketPropagationBenchmark.SPAWN_RADIUS * 2) - TicketPropagationBenchmark.SPAWN_RADIUS);
+            adouble1[k] = (double) (randomsource.nextInt(TicketPropagationBenchmark.SPAWN_RADIUS * 2) - TicketPropagationBenchmark.SPAWN_RADIUS);
+            adouble2[k] = (double) MathHelper.cos(f) * TicketPropagationBenchmark.FLIGHT_SPEED;
+            adouble3[k] = (double) MathHelper.sin(f) * TicketPropagationBenchmark.FLIGHT_SPEED;
+            along[k] = ChunkCoordIntPair.asLong(MathHelper.floor(adouble[k]), MathHelper.floor(adouble1[k]));
+            if (long2intmap.addTo(along[k], 1) == 0) {
+                longconsumer.accept(along[k]);
+            }
+        }
+
+        intsupplier.getAsInt();
+        long l = 0L;
+
+        for (int i1 = -TicketPropagationBenchmark.WARMUP_TICKS; i1 < TicketPropagationBenchmark.TICKS; ++i1) {
+            long j1 = System.nanoTime();
+
+            for (int k1 = 0; k1 < i; ++k1) {
+                adouble[k1] += adouble2[k1];
+                adouble1[k1] += adouble3[k1];
+                long l1 = ChunkCoordIntPair.asLong(MathHelper.floor(adouble[k1]), MathHelper.floor(adouble1[k1]));
+
+                if (l1 != along[k1]) {
+                    if (long2intmap.addTo(along[k1], -1) == 1) {
+                        long2intmap.remove(along[k1]);
+                        longconsumer1.accept(along[k1]);
+                    }
+
+                    if (long2intmap.addTo(l1, 1) == 0) {
+                        longconsumer.accept(l1);
+                    }
+
+                    along[k1] = l1;
+                }
+            }
+
+            intsupplier.getAsInt();
+            if (i1 >= 0) {
+                l += System.nanoTime() - j1;
+            }
+        }
+
+        return l;
+    }
+
+    private static class a extends ChunkMap {
+
+        final Long2ByteMap chunks = new Long2ByteOpenHashMap();
+        private final LongSet sources = new LongOpenHashSet();
+        private final int maxDistance;
+
+        a(int i) {
+            super(i + 2, 16, 256);
+            this.maxDistance = i;
+            this.chunks.defaultReturnValue((byte) (i + 2));
+        }
+
+        void addSource(long i) {
+            this.sources.add(i);
+            this.update(i, 0, true);
+        }
+
+        void removeSource(long i) {
+            this.sources.remove(i);
+            this.update(i, Integer.MAX_VALUE, false);
+        }
+
+        @Override
+        protected int getLevel(long i) {
+            return this.chunks.get(i);
+        }
+
+        @Override
+        protected void setLevel(long i, int j) {
+            if (j > this.maxDistance) {
+                this.chunks.remove(i);
+            } else {
+                this.chunks.put(i, (byte) j);
+            }
+
+        }
+
+        @Override
+        protected int getLevelFromSource(long i) {
+            return this.sources.contains(i) ? 0 : Integer.MAX_VALUE;
+        }
+
+        void runAllUpdates() {
+            this.runUpdates(Integer.MAX_VALUE);
+        }
+    }
+
+    public static record Result(int players, int ticks, long legacyNanos, long propagatorNanos, int chunks, int mismatches) {
+
+        public String format() {
+            return String.format(Locale.ROOT, "%d players over %d ticks, %d chunks in range: legacy %.3f ms/tick, propagator %.3f ms/tick (%.1fx)%s", this.players, this.ticks, this.chunks, (double) this.legacyNanos / 1000000.0D / (double) this.ticks, (double) this.propagatorNanos / 1000000.0D / (double) this.ticks, (double) this.legacyNanos / (double) Math.max(1L, this.propagatorNanos), this.mismatches == 0 ? ", all chunk levels match" : ", " + this.mismatches + " chunk levels DIFFER");
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package net.minecraft.server.level;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.chunk.Chunk;
+
+public class TickingChunkTracker {
+
+    private final ObjectArrayList<PlayerChunk> ticking = new ObjectArrayList();
+    private final Set<PlayerChunk> pendingRemovals = new ReferenceOpenHashSet();
+    private final Set<PlayerChunk> pendingBroadcasts = new ReferenceLinkedOpenHashSet();
+    private boolean iterating;
+
+    public TickingChunkTracker() {}
+
+    void setTicking(PlayerChunk playerchunk, boolean flag) {
+        if (flag) {
+            if (playerchunk.getTickingChunk() != null) {
+                if (!this.pendingRemovals.remove(playerchunk) && playerchunk.tickingIndex < 0) {
+                    playerchunk.tickingIndex = this.ticking.size();
+                    this.ticking.add(playerchunk);
+                }
+
+                if (playerchunk.hasPendingChanges()) {
+                    this.pendingBroadcasts.add(playerchunk);
+                }
+            }
+        } else if (playerchunk.tickingIndex >= 0) {
+            if (this.iterating) {
+                this.pendingRemovals.add(playerchunk);
+            } else {
+                this.remove(playerchunk);
+            }
+        }
+
+    }
+
+    private void remove(PlayerChunk playerchunk) {
+        int i = playerchunk.tickingIndex;
+        PlayerChunk playerchunk1 = (PlayerChunk) this.ticking.pop();
+
+        if (playerchunk1 != playerchunk) {
+            this.ticking.set(i, playerchunk1);
+            playerchunk1.tickingIndex = i;
+        }
+
+        playerchunk.tickingIndex = -1;
+    }
+
+    void markPendingBroadcast(PlayerChunk playerchunk) {
+        this.pendingBroadcasts.add(playerchunk);
+    }
+
+    public int size() {
+        return this.ticking.size();
+    }
+
+    public void forEachShuffled(RandomSource randomsource, BiConsumer<PlayerChunk, Chunk> biconsumer) {
+        int i = this.ticking.size();
+
+        if (i != 0) {
+            int j = randomsource.nextInt(i);
+            int k = getCoprimeStep(randomsource, i);
+
+            this.iterating = true;
+
+            try {
+                for (int l = 0; l < i; ++l) {
+                    PlayerChunk playerchunk = (PlayerChunk) this.ticking.get((int) (((long) j + (long) l * (long) k) % (long) i));
+                    Chunk chunk = this.pendingRemovals.contains(playerchunk) ? null : playerchunk.getTickingChunk();
+
+                    if (chunk != null) {
+                        biconsumer.accept(playerchunk, chunk);
+                    }
+                }
+            } finally {
+                this.iterating = false;
+                if (!this.pendingRemovals.isEmpty()) {
+                    Iterator iterator = this.pendingRemovals.iterator();
+
+                    while (iterator.hasNext()) {
+                        this.remove((PlayerChunk) iterator.next());
+                    }
+
+                    this.pendingRemovals.clear();
+                }
+
+            }
+
+        }
+    }
+
+    public void analyzeRegions(TickRegions tickregions, int i) {
+        tickregions.rebuild(this.ticking, i);
+    }
+
+    private static int getCoprimeStep(RandomSource randomsource, int i) {
+        if (i <= 2) {
+            return 1;
+        } else {
+            int j = 1 + randomsource.nextInt(i - 1);
+
+            while (gcd(j, i) != 1) {
+                j = j == i - 1 ? 1 : j + 1;
+            }
+
+            return j;
+        }
+    }
+
+    private static int gcd(int i, int j) {
+        while (j != 0) {
+            int k = i % j;
+
+            i = j;
+            j = k;
+        }
+
+        return i;
+    }
+
+    public void broadcastChanges(@Nullable ChunkChangeCoalescer chunkchangecoalescer) {
+        if (!this.pendingBroadcasts.isEmpty()) {
+            Iterator iterator = this.pendingBroadcasts.iterator();
+
+            while (iterator.hasNext()) {
+                PlayerChunk playerchunk = (PlayerChunk) iterator.next();
+                Chunk chunk = playerchunk.getTickingChunk();
+
+                if (chunk != null) {
+                    playerchunk.broadcastChanges(chunk, chunkchangecoalescer);
+                }
+            }
+
+            this.pendingBroadcasts.clear();
+        }
+    }
+}
@@ -1,8 +1,6 @@
 package net.minecraft.server.level;
 
 import com.mojang.datafixers.util.Pair;
-import it.unimi.dsi.fastutil.longs.Long2ByteMap;
-import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap.Entry;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
@@ -12,15 +10,13 @@ import java.util.List;
 import net.minecraft.util.ArraySetSorted;
 import net.minecraft.world.level.ChunkCoordIntPair;
 
-public class TickingTracker extends ChunkMap {
+public class TickingTracker extends ChunkLevelPropagator {
 
     private static final int INITIAL_TICKET_LIST_CAPACITY = 4;
-    protected final Long2ByteMap chunks = new Long2ByteOpenHashMap();
     private final Long2ObjectOpenHashMap<ArraySetSorted<Ticket<?>>> tickets = new Long2ObjectOpenHashMap();
 
     public TickingTracker() {
-        super(34, 16, 256);
-        this.chunks.defaultReturnValue((byte) 33);
+        super(33);
     }
 
     private ArraySetSorted<Ticket<?>> getTickets(long i) {
@@ -39,7 +35,7 @@ public class TickingTracker extends ChunkMap {
 
         arraysetsorted.add(ticket);
         if (ticket.getTicketLevel() < j) {
-            this.update(i, ticket.getTicketLevel(), true);
+            this.setSource(i, ticket.getTicketLevel());
         }
 
     }
@@ -52,7 +48,7 @@ public class TickingTracker extends ChunkMap {
             this.tickets.remove(i);
         }
 
-        this.update(i, this.getTicketLevelAt(arraysetsorted), false);
+        this.setSource(i, this.getTicketLevelAt(arraysetsorted));
     }
 
     public <T> void addTicket(TicketType<T> tickettype, ChunkCoordIntPair chunkcoordintpair, int i, T t0) {
@@ -99,34 +95,12 @@ public class TickingTracker extends ChunkMap {
 
     }
 
-    @Override
-    protected int getLevelFromSource(long i) {
-        ArraySetSorted<Ticket<?>> arraysetsorted = (ArraySetSorted) this.tickets.get(i);
-
-        return arraysetsorted != null && !arraysetsorted.isEmpty() ? ((Ticket) arraysetsorted.first()).getTicketLevel() : Integer.MAX_VALUE;
-    }
-
     public int getLevel(ChunkCoordIntPair chunkcoordintpair) {
         return this.getLevel(chunkcoordintpair.toLong());
     }
 
-    @Override
-    protected int getLevel(long i) {
-        return this.chunks.get(i);
-    }
-
-    @Override
-    protected void setLevel(long i, int j) {
-        if (j > 33) {
-            this.chunks.remove(i);
-        } else {
-            this.chunks.put(i, (byte) j);
-        }
-
-    }
-
     public void runAllUpdates() {
-        this.runUpdates(Integer.MAX_VALUE);
+        this.propagateUpdates();
     }
 
     public String getTicketDebugString(long i) {
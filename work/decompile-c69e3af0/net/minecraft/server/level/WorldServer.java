@@ -196,6 +196,7 @@ public class WorldServer extends World implements GeneratorAccessSeed {
     private final StructureManager structureManager;
     private final StructureCheck structureCheck;
     private final boolean tickTime;
+    public final long[] tickTimes;
 
     public WorldServer(MinecraftServer minecraftserver, Executor executor, Convertable.ConversionSession convertable_conversionsession, IWorldDataServer iworlddataserver, ResourceKey<World> resourcekey, WorldDimension worlddimension, WorldLoadListener worldloadlistener, boolean flag, long i, List<MobSpawner> list, boolean flag1) {
         Holder holder = worlddimension.type();
@@ -211,6 +212,7 @@ public class WorldServer extends World implements GeneratorAccessSeed {
         this.blockEventsToReschedule = new ArrayList(64);
         this.dragonParts = new Int2ObjectOpenHashMap();
         this.tickTime = flag1;
+        this.tickTimes = new long[100];
         this.server = minecraftserver;
         this.customSpawners = list;
         this.serverLevelData = iworlddataserver;
@@ -1768,6 +1770,7 @@ public class WorldServer extends World implements GeneratorAccessSeed {
 
         public void onSectionChange(Entity entity) {
             entity.updateDynamicGameEventListener(DynamicGameEventListener::move);
+            WorldServer.this.getChunkSource().chunkMap.onEntitySectionChange(entity);
         }
     }
 }
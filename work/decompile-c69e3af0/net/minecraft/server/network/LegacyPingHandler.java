@@ -9,6 +9,7 @@ import io.netty.channel.ChannelInboundHandlerAdapter;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.Locale;
+import javax.annotation.Nullable;
 import net.minecraft.server.MinecraftServer;
 import org.slf4j.Logger;
 
@@ -36,13 +37,11 @@ public class LegacyPingHandler extends ChannelInboundHandlerAdapter {
             InetSocketAddress inetsocketaddress = (InetSocketAddress) channelhandlercontext.channel().remoteAddress();
             MinecraftServer minecraftserver = this.serverConnectionListener.getServer();
             int i = bytebuf.readableBytes();
-            String s;
 
             switch (i) {
                 case 0:
                     LegacyPingHandler.LOGGER.debug("Ping: (<1.3.x) from {}:{}", inetsocketaddress.getAddress(), inetsocketaddress.getPort());
-                    s = String.format(Locale.ROOT, "%s\u00a7%d\u00a7%d", minecraftserver.getMotd(), minecraftserver.getPlayerCount(), minecraftserver.getMaxPlayers());
-                    this.sendFlushAndClose(channelhandlercontext, this.createReply(s));
+                    this.sendFlushAndClose(channelhandlercontext, Unpooled.wrappedBuffer(this.serverConnectionListener.legacyPingReplies.get(minecraftserver).legacy()));
                     break;
                 case 1:
                     if (bytebuf.readUnsignedByte() != 1) {
@@ -50,8 +49,7 @@ public class LegacyPingHandler extends ChannelInboundHandlerAdapter {
                     }
 
                     LegacyPingHandler.LOGGER.debug("Ping: (1.4-1.5.x) from {}:{}", inetsocketaddress.getAddress(), inetsocketaddress.getPort());
-                    s = String.format(Locale.ROOT, "\u00a71\u0000%d\u0000%s\u0000%s\u0000%d\u0000%d", 127, minecraftserver.getServerVersion(), minecraftserver.getMotd(), minecraftserver.getPlayerCount(), minecraftserver.getMaxPlayers());
-                    this.sendFlushAndClose(channelhandlercontext, this.createReply(s));
+                    this.sendFlushAndClose(channelhandlercontext, Unpooled.wrappedBuffer(this.serverConnectionListener.legacyPingReplies.get(minecraftserver).modern()));
                     break;
                 default:
                     boolean flag1 = bytebuf.readUnsignedByte() == 1;
@@ -69,14 +67,7 @@ public class LegacyPingHandler extends ChannelInboundHandlerAdapter {
                     }
 
                     LegacyPingHandler.LOGGER.debug("Ping: (1.6) from {}:{}", inetsocketaddress.getAddress(), inetsocketaddress.getPort());
-                    String s1 = String.format(Locale.ROOT, "\u00a71\u0000%d\u0000%s\u0000%s\u0000%d\u0000%d", 127, minecraftserver.getServerVersion(), minecraftserver.getMotd(), minecraftserver.getPlayerCount(), minecraftserver.getMaxPlayers());
-                    ByteBuf bytebuf1 = this.createReply(s1);
-
-                    try {
-                        this.sendFlushAndClose(channelhandlercontext, bytebuf1);
-                    } finally {
-                        bytebuf1.release();
-                    }
+                    this.sendFlushAndClose(channelhandlercontext, Unpooled.wrappedBuffer(this.serverConnectionListener.legacyPingReplies.get(minecraftserver).modern()));
             }
 
             bytebuf.release();
@@ -98,22 +89,46 @@ public class LegacyPingHandler extends ChannelInboundHandlerAdapter {
         channelhandlercontext.pipeline().firstContext().writeAndFlush(bytebuf).addListener(ChannelFutureListener.CLOSE);
     }
 
-    private ByteBuf createReply(String s) {
-        ByteBuf bytebuf = Unpooled.buffer();
-
-        bytebuf.writeByte(255);
+    private static byte[] createReply(String s) {
         char[] achar = s.toCharArray();
+        byte[] abyte = new byte[3 + achar.length * 2];
+
+        abyte[0] = -1;
+        abyte[1] = (byte) (achar.length >> 8);
+        abyte[2] = (byte) achar.length;
+
+        for (int i = 0; i < achar.length; ++i) {
+            abyte[3 + i * 2] = (byte) (achar[i] >> 8);
+            abyte[4 + i * 2] = (byte) achar[i];
+        }
+
+        return abyte;
+    }
+
+    public static class ReplyCache {
 
-        bytebuf.writeShort(achar.length);
-        char[] achar1 = achar;
-        int i = achar.length;
+        @Nullable
+        private volatile LegacyPingHandler.Replies replies;
 
-        for (int j = 0; j < i; ++j) {
-            char c0 = achar1[j];
+        public LegacyPingHandler.Replies get(MinecraftServer minecraftserver) {
+            String s = minecraftserver.getMotd();
+            int i = minecraftserver.getPlayerCount();
+            int j = minecraftserver.getMaxPlayers();
+            LegacyPingHandler.Replies legacypinghandler_replies = this.replies;
 
-            bytebuf.writeChar(c0);
+            if (legacypinghandler_replies == null || legacypinghandler_replies.players() != i || legacypinghandler_replies.maxPlayers() != j || !legacypinghandler_replies.motd().equals(s)) {
+                byte[] abyte = LegacyPingHandler.createReply(String.format(Locale.ROOT, "%s\u00a7%d\u00a7%d", s, i, j));
+                byte[] abyte1 = LegacyPingHandler.createReply(String.format(Locale.ROOT, "\u00a71\u0000%d\u0000%s\u0000%s\u0000%d\u0000%d", 127, minecraftserver.getServerVersion(), s, i, j));
+
+                legacypinghandler_replies = new LegacyPingHandler.Replies(s, i, j, abyte, abyte1);
+                this.replies = legacypinghandler_replies;
+            }
+
+            return legacypinghandler_replies;
         }
+    }
+
+    public static record Replies(String motd, int players, int maxPlayers, byte[] legacy, byte[] modern) {
 
-        return bytebuf;
     }
 }
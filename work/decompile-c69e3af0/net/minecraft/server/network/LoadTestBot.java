@@ -0,0 +1,302 @@
+package net.minecraft.server.network;
+
+import com.mojang.logging.LogUtils;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.core.EnumDirection;
+import net.minecraft.network.EnumProtocol;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.network.chat.IChatBaseComponent;
+import net.minecraft.network.chat.LastSeenMessages;
+import net.minecraft.network.protocol.game.ClientboundPlayerChatPacket;
+import net.minecraft.network.protocol.game.PacketListenerPlayOut;
+import net.minecraft.network.protocol.game.PacketPlayInBlockDig;
+import net.minecraft.network.protocol.game.PacketPlayInChat;
+import net.minecraft.network.protocol.game.PacketPlayInFlying;
+import net.minecraft.network.protocol.game.PacketPlayInKeepAlive;
+import net.minecraft.network.protocol.game.PacketPlayInSettings;
+import net.minecraft.network.protocol.game.PacketPlayInTeleportAccept;
+import net.minecraft.network.protocol.game.PacketPlayInUseItem;
+import net.minecraft.network.protocol.game.PacketPlayOutKeepAlive;
+import net.minecraft.network.protocol.game.PacketPlayOutKickDisconnect;
+import net.minecraft.network.protocol.game.PacketPlayOutPosition;
+import net.minecraft.network.protocol.game.ServerboundChatAckPacket;
+import net.minecraft.network.protocol.handshake.PacketHandshakingInSetProtocol;
+import net.minecraft.network.protocol.login.PacketLoginInStart;
+import net.minecraft.network.protocol.login.PacketLoginOutCustomPayload;
+import net.minecraft.network.protocol.login.PacketLoginOutDisconnect;
+import net.minecraft.network.protocol.login.PacketLoginOutEncryptionBegin;
+import net.minecraft.network.protocol.login.PacketLoginOutListener;
+import net.minecraft.network.protocol.login.PacketLoginOutSetCompression;
+import net.minecraft.network.protocol.login.PacketLoginOutSuccess;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.EnumHand;
+import net.minecraft.world.entity.EnumMainHand;
+import net.minecraft.world.entity.player.EnumChatVisibility;
+import net.minecraft.world.phys.MovingObjectPositionBlock;
+import net.minecraft.world.phys.Vec3D;
+import org.slf4j.Logger;
+
+public class LoadTestBot implements PacketLoginOutListener {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final double WALK_SPEED = 0.2D;
+    private final String name;
+    private final NetworkManager connection;
+    private final LoadTestHarness.Options options;
+    private final AtomicLong receivedPackets = new AtomicLong();
+    private final AtomicInteger pendingAcknowledgements = new AtomicInteger();
+    private volatile LoadTestBot.State state;
+    @Nullable
+    private volatile IChatBaseComponent disconnectReason;
+    private double originX;
+    private double originY;
+    private double originZ;
+    private double x;
+    private double y;
+    private double z;
+    private int pathTick;
+    private int sequence;
+    @Nullable
+    private BlockPosition placedBlock;
+
+    private LoadTestBot(String s, NetworkManager networkmanager, LoadTestHarness.Options loadtestharness_options) {
+        this.state = LoadTestBot.State.LOGGING_IN;
+        this.name = s;
+        this.connection = networkmanager;
+        this.options = loadtestharness_options;
+    }
+
+    public static LoadTestBot connect(String s, SocketAddress socketaddress, LoadTestHarness.Options loadtestharness_options) {
+        NetworkManager networkmanager;
+        String s1;
+        int i;
+
+        if (socketaddress instanceof InetSocketAddress) {
+            InetSocketAddress inetsocketaddress = (InetSocketAddress) socketaddress;
+
+            networkmanager = NetworkManager.connectToServer(inetsocketaddress, false);
+            s1 = inetsocketaddress.getHostString();
+            i = inetsocketaddress.getPort();
+        } else {
+            networkmanager = NetworkManager.connectToLocalServer(socketaddress);
+            s1 = "localhost";
+            i = 0;
+        }
+
+        LoadTestBot loadtestbot = new LoadTestBot(s, networkmanager, loadtestharness_options);
+
+        networkmanager.setListener(loadtestbot);
+        networkmanager.send(new PacketHandshakingInSetProtocol(s1, i, EnumProtocol.LOGIN));
+        networkmanager.send(new PacketLoginInStart(s, Optional.empty()));
+        return loadtestbot;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public LoadTestBot.State getState() {
+        return this.state;
+    }
+
+    @Nullable
+    public IChatBaseComponent getDisconnectReason() {
+        return this.disconnectReason;
+    }
+
+    public long getReceivedPackets() {
+        return this.receivedPackets.get();
+    }
+
+    public void disconnect() {
+        this.connection.disconnect(IChatBaseComponent.literal("Load test finished"));
+    }
+
+    public synchronized void tick(int i) {
+        if (!this.connection.isConnecting()) {
+            if (this.connection.isConnected()) {
+                this.connection.tick();
+            } else if (this.state != LoadTestBot.State.DISCONNECTED) {
+                this.connection.handleDisconnection();
+            }
+        }
+
+        if (this.state == LoadTestBot.State.PLAYING) {
+            ++this.pathTick;
+            double d0 = (double) this.options.pathRadius();
+            double d1 = (double) (this.name.hashCode() & 255) / 256.0D * 6.283185307179586D;
+            double d2 = d1 + (double) this.pathTick * LoadTestBot.WALK_SPEED / d0;
+
+            this.x = this.originX + (Math.cos(d2) - Math.cos(d1)) * d0;
+            this.y = this.originY;
+            this.z = this.originZ + (Math.sin(d2) - Math.sin(d1)) * d0;
+            this.connection.send(new PacketPlayInFlying.PacketPlayInPosition(this.x, this.y, this.z, true));
+            if (this.options.actionInterval() > 0 && i % this.options.actionInterval() == 0) {
+                this.doBlockAction();
+            }
+
+            if (this.options.chatInterval() > 0 && i % this.options.chatInterval() == 0) {
+                this.connection.send(new PacketPlayInChat("load test " + i, Instant.now(), 0L, null, new LastSeenMessages.b(0, new BitSet())));
+            }
+
+            int j = this.pendingAcknowledgements.getAndSet(0);
+
+            if (j > 0) {
+                this.connection.send(new ServerboundChatAckPacket(j));
+            }
+
+        }
+    }
+
+    private void doBlockAction() {
+        if (this.placedBlock != null) {
+            this.connection.send(new PacketPlayInBlockDig(PacketPlayInBlockDig.EnumPlayerDigType.START_DESTROY_BLOCK, this.placedBlock, EnumDirection.UP, ++this.sequence));
+            this.placedBlock = null;
+        } else {
+            BlockPosition blockposition = new BlockPosition(this.x, this.y, this.z).offset(2, -1, 0);
+
+            this.connection.send(new PacketPlayInUseItem(EnumHand.MAIN_HAND, new MovingObjectPositionBlock(Vec3D.atCenterOf(blockposition).add(0.0D, 0.5D, 0.0D), EnumDirection.UP, blockposition, false), ++this.sequence));
+            this.placedBlock = blockposition.above();
+        }
+
+    }
+
+    synchronized void handleMovePlayer(PacketPlayOutPosition packetplayoutposition) {
+        Set<PacketPlayOutPosition.EnumPlayerTeleportFlags> set = packetplayoutposition.getRelativeArguments();
+
+        this.x = (set.contains(PacketPlayOutPosition.EnumPlayerTeleportFlags.X) ? this.x : 0.0D) + packetplayoutposition.getX();
+        this.y = (set.contains(PacketPlayOutPosition.EnumPlayerTeleportFlags.Y) ? this.y : 0.0D) + packetplayoutposition.getY();
+        this.z = (set.contains(PacketPlayOutPosition.EnumPlayerTeleportFlags.Z) ? this.z : 0.0D) + packetplayoutposition.getZ();
+        this.originX = this.x;
+        this.originY = this.y;
+        this.originZ = this.z;
+        this.pathTick = 0;
+        this.connection.send(new PacketPlayInTeleportAccept(packetplayoutposition.getId()));
+        this.connection.send(new PacketPlayInFlying.PacketPlayInPositionLook(this.x, this.y, this.z, MathHelper.wrapDegrees(packetplayoutposition.getYRot()), MathHelper.wrapDegrees(packetplayoutposition.getXRot()), false));
+        this.state = LoadTestBot.State.PLAYING;
+    }
+
+    @Override
+    public void handleHello(PacketLoginOutEncryptionBegin packetloginoutencryptionbegin) {
+        this.connection.disconnect(IChatBaseComponent.literal("Load test bots require an offline mode server or the memory transport"));
+    }
+
+    @Override
+    public void handleGameProfile(PacketLoginOutSuccess packetloginoutsuccess) {
+        this.state = LoadTestBot.State.JOINING;
+        this.connection.setProtocol(EnumProtocol.PLAY);
+        this.connection.setListener(this.createPlayListener());
+    }
+
+    @Override
+    public void handleDisconnect(PacketLoginOutDisconnect packetloginoutdisconnect) {
+        this.connection.disconnect(packetloginoutdisconnect.getReason());
+    }
+
+    @Override
+    public void handleCompression(PacketLoginOutSetCompression packetloginoutsetcompression) {
+        if (!this.connection.isMemoryConnection()) {
+            this.connection.setupCompression(packetloginoutsetcompression.getCompressionThreshold(), false);
+        }
+
+    }
+
+    @Override
+    public void handleCustomQuery(PacketLoginOutCustomPayload packetloginoutcustompayload) {}
+
+    @Override
+    public void onDisconnect(IChatBaseComponent ichatbasecomponent) {
+        if (this.state != LoadTestBot.State.DISCONNECTED) {
+            this.state = LoadTestBot.State.DISCONNECTED;
+            this.disconnectReason = ichatbasecomponent;
+            LoadTestBot.LOGGER.debug("Load test bot {} disconnected: {}", this.name, ichatbasecomponent.getString());
+        }
+
+    }
+
+    @Override
+    public NetworkManager getConnection() {
+        return this.connection;
+    }
+
+    private PacketListenerPlayOut createPlayListener() {
+        return (PacketListenerPlayOut) Proxy.newProxyInstance(PacketListenerPlayOut.class.getClassLoader(), new Class[]{PacketListenerPlayOut.class}, (object, method, aobject) -> {
+            return this.handlePlayPacket(method, aobject);
+        });
+    }
+
+    @Nullable
+    private Object handlePlayPacket(Method method, @Nullable Object[] aobject) {
+        String s = method.getName();
+        Object object = aobject != null && aobject.length == 1 ? aobject[0] : null;
+
+        this.receivedPackets.incrementAndGet();
+        if (object instanceof PacketPlayOutKeepAlive) {
+            PacketPlayOutKeepAlive packetplayoutkeepalive = (PacketPlayOutKeepAlive) object;
+
+            this.connection.send(new PacketPlayInKeepAlive(packetplayoutkeepalive.getId()));
+        } else if (object instanceof PacketPlayOutPosition) {
+            PacketPlayOutPosition packetplayoutposition = (PacketPlayOutPosition) object;
+
+            if (this.state == LoadTestBot.State.JOINING) {
+                this.connection.send(new PacketPlayInSettings("en_us", this.options.viewDistance(), EnumChatVisibility.FULL, true, 127, EnumMainHand.RIGHT, false, true));
+            }
+
+            this.handleMovePlayer(packetplayoutposition);
+        } else if (object instanceof ClientboundPlayerChatPacket) {
+            ClientboundPlayerChatPacket clientboundplayerchatpacket = (ClientboundPlayerChatPacket) object;
+
+            if (clientboundplayerchatpacket.signature() != null) {
+                this.pendingAcknowledgements.incrementAndGet();
+            }
+        } else if (object instanceof PacketPlayOutKickDisconnect) {
+            PacketPlayOutKickDisconnect packetplayoutkickdisconnect = (PacketPlayOutKickDisconnect) object;
+
+            this.connection.disconnect(packetplayoutkickdisconnect.getReason());
+        } else if ("onDisconnect".equals(s) && object instanceof IChatBaseComponent) {
+            IChatBaseComponent ichatbasecomponent = (IChatBaseComponent) object;
+
+            this.onDisconnect(ichatbasecomponent);
+        } else {
+            if ("getConnection".equals(s)) {
+                return this.connection;
+            }
+
+            if ("shouldPropagateHandlingExceptions".equals(s)) {
+                return false;
+            }
+
+            if ("hashCode".equals(s)) {
+                return System.identityHashCode(this);
+            }
+
+            if ("equals".equals(s)) {
+                return false;
+            }
+
+            if ("toString".equals(s)) {
+                return "LoadTestBot[" + this.name + "]";
+            }
+        }
+
+        return null;
+    }
+
+    public static enum State {
+
+        LOGGING_IN, JOINING, PLAYING, DISCONNECTED;
+
+        private State() {}
+    }
+}
@@ -0,0 +1,234 @@
+package net.minecraft.server.network;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import net.minecraft.DefaultUncaughtExceptionHandler;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.network.PacketMetrics;
+import net.minecraft.network.protocol.EnumProtocolDirection;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.EntityPlayer;
+import net.minecraft.world.EnumHand;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.EnumGamemode;
+import org.slf4j.Logger;
+
+public class LoadTestHarness {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+    public static final String NAME_PREFIX = "LoadBot";
+    private static final int SAMPLE_INTERVAL = 20;
+    private static final int MAX_SAMPLES = 600;
+    private final MinecraftServer server;
+    private final LoadTestHarness.Options options;
+    private final List<LoadTestBot> bots = new CopyOnWriteArrayList();
+    private final List<LoadTestHarness.Sample> samples = Collections.synchronizedList(Lists.newArrayList());
+    private final Object2LongMap<String> lastWireBytes = new Object2LongOpenHashMap();
+    private final ScheduledExecutorService scheduler;
+    private int tickCount;
+    private long lastSampleTime;
+
+    private LoadTestHarness(MinecraftServer minecraftserver, LoadTestHarness.Options loadtestharness_options) {
+        this.server = minecraftserver;
+        this.options = loadtestharness_options;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor((new ThreadFactoryBuilder()).setNameFormat("Load Test Bots").setDaemon(true).setUncaughtExceptionHandler(new DefaultUncaughtExceptionHandler(LoadTestHarness.LOGGER)).build());
+    }
+
+    public static LoadTestHarness start(MinecraftServer minecraftserver, ServerConnection serverconnection, LoadTestHarness.Options loadtestharness_options) {
+        if (minecraftserver.enforceSecureProfile() && loadtestharness_options.chatInterval() > 0) {
+            LoadTestHarness.LOGGER.warn("Load test bots cannot sign chat messages while enforce-secure-profile is enabled, chat is disabled");
+            loadtestharness_options = loadtestharness_options.withoutChat();
+        }
+
+        LoadTestHarness loadtestharness = new LoadTestHarness(minecraftserver, loadtestharness_options);
+        Object object = loadtestharness_options.tcp() ? new InetSocketAddress(minecraftserver.getLocalIp().isEmpty() ? "127.0.0.1" : minecraftserver.getLocalIp(), minecraftserver.getPort()) : serverconnection.getMemoryAddress();
+
+        LoadTestHarness.LOGGER.info("Starting {} load test bots over {}", loadtestharness_options.count(), loadtestharness_options.tcp() ? "loopback TCP" : "the memory transport");
+        loadtestharness.lastSampleTime = System.nanoTime();
+
+        for (int i = 0; i < loadtestharness_options.count(); ++i) {
+            String s = LoadTestHarness.NAME_PREFIX + i;
+
+            loadtestharness.scheduler.schedule(() -> {
+                loadtestharness.bots.add(LoadTestBot.connect(s, (SocketAddress) object, loadtestharness.options));
+            }, (long) i * (long) loadtestharness_options.joinDelay(), TimeUnit.MILLISECONDS);
+        }
+
+        loadtestharness.scheduler.scheduleAtFixedRate(loadtestharness::tick, 50L, 50L, TimeUnit.MILLISECONDS);
+        return loadtestharness;
+    }
+
+    private void tick() {
+        int i = ++this.tickCount;
+        Iterator iterator = this.bots.iterator();
+
+        while (iterator.hasNext()) {
+            LoadTestBot loadtestbot = (LoadTestBot) iterator.next();
+
+            try {
+                loadtestbot.tick(i);
+            } catch (Exception exception) {
+                LoadTestHarness.LOGGER.warn("Failed to tick load test bot {}", loadtestbot.getName(), exception);
+                loadtestbot.disconnect();
+            }
+        }
+
+        if (i % LoadTestHarness.SAMPLE_INTERVAL == 0) {
+            this.server.execute(this::sample);
+        }
+
+    }
+
+    private void sample() {
+        long i = System.nanoTime();
+        double d0 = (double) (i - this.lastSampleTime) / 1.0E9D;
+        float f = 0.0F;
+        float f1 = 0.0F;
+        List list = this.server.getConnection().getConnections();
+
+        synchronized (list) {
+            NetworkManager networkmanager;
+
+            for (Iterator iterator = list.iterator(); iterator.hasNext(); f1 += networkmanager.getAverageReceivedPackets()) {
+                networkmanager = (NetworkManager) iterator.next();
+                f += networkmanager.getAverageSentPackets();
+            }
+        }
+
+        int j = 0;
+        int k1 = 0;
+        long k = 0L;
+        long l = 0L;
+        Iterator iterator1 = this.bots.iterator();
+
+        while (iterator1.hasNext()) {
+            LoadTestBot loadtestbot = (LoadTestBot) iterator1.next();
+            EntityPlayer entityplayer = this.server.getPlayerList().getPlayerByName(loadtestbot.getName());
+
+            if (entityplayer != null) {
+                ++j;
+                this.prepare(entityplayer);
+                PacketMetrics packetmetrics = entityplayer.connection.getConnection().getMetrics();
+
+                if (packetmetrics != null) {
+                    long i1 = packetmetrics.getTotalWireBytes(EnumProtocolDirection.CLIENTBOUND);
+
+                    if (this.lastWireBytes.containsKey(loadtestbot.getName())) {
+                        long j1 = i1 - this.lastWireBytes.put(loadtestbot.getName(), i1);
+
+                        ++k1;
+                        k += j1;
+                        l = Math.max(l, j1);
+                    } else {
+                        this.lastWireBytes.put(loadtestbot.getName(), i1);
+                    }
+                }
+            }
+        }
+
+        this.lastSampleTime = i;
+        this.addSample(new LoadTestHarness.Sample(this.server.getTickCount(), this.server.getAverageTickTime(), j, f * 20.0F, f1 * 20.0F, k1 == 0 ? -1L : (long) ((double) k / (double) k1 / d0), k1 == 0 ? -1L : (long) ((double) l / d0)));
+    }
+
+    private void prepare(EntityPlayer entityplayer) {
+        if (entityplayer.gameMode.getGameModeForPlayer() != EnumGamemode.CREATIVE) {
+            entityplayer.setGameMode(EnumGamemode.CREATIVE);
+        }
+
+        if (!entityplayer.getMainHandItem().is(Items.STONE)) {
+            entityplayer.setItemInHand(EnumHand.MAIN_HAND, new ItemStack(Items.STONE));
+        }
+
+    }
+
+    private void addSample(LoadTestHarness.Sample loadtestharness_sample) {
+        List list = this.samples;
+
+        synchronized (this.samples) {
+            if (this.samples.size() >= LoadTestHarness.MAX_SAMPLES) {
+                this.samples.remove(0);
+            }
+
+            this.samples.add(loadtestharness_sample);
+        }
+    }
+
+    @Nullable
+    public LoadTestHarness.Sample getLastSample() {
+        List list = this.samples;
+
+        synchronized (this.samples) {
+            return this.samples.isEmpty() ? null : (LoadTestHarness.Sample) this.samples.get(this.samples.size() - 1);
+        }
+    }
+
+    public List<LoadTestHarness.Sample> getSamples() {
+        List list = this.samples;
+
+        synchronized (this.samples) {
+            return List.copyOf(this.samples);
+        }
+    }
+
+    public List<LoadTestBot> getBots() {
+        return this.bots;
+    }
+
+    public int getConnectedBots() {
+        return (int) this.bots.stream().filter((loadtestbot) -> {
+            return loadtestbot.getState() != LoadTestBot.State.DISCONNECTED;
+        }).count();
+    }
+
+    public LoadTestHarness.Options getOptions() {
+        return this.options;
+    }
+
+    public void stop() {
+        this.scheduler.shutdownNow();
+        Iterator iterator = this.bots.iterator();
+
+        while (iterator.hasNext()) {
+            LoadTestBot loadtestbot = (LoadTestBot) iterator.next();
+
+            loadtestbot.disconnect();
+        }
+
+        LoadTestHarness.LOGGER.info("Stopped {} load test bots", this.bots.size());
+    }
+
+    public static record Options(int count, boolean tcp, int joinDelay, int viewDistance, int pathRadius, int actionInterval, int chatInterval) {
+
+        public static LoadTestHarness.Options of(int i, boolean flag) {
+            return new LoadTestHarness.Options(i, flag, 50, 8, 16, 40, 200);
+        }
+
+        public LoadTestHarness.Options withoutChat() {
+            return new LoadTestHarness.Options(this.count, this.tcp, this.joinDelay, this.viewDistance, this.pathRadius, this.actionInterval, 0);
+        }
+    }
+
+    public static record Sample(int tick, float averageTickTime, int players, float packetsSentPerSecond, float packetsReceivedPerSecond, long bytesPerPlayerPerSecond, long maxBytesPerPlayerPerSecond) {
+
+        public String format() {
+            String s = this.bytesPerPlayerPerSecond < 0L ? "bandwidth n/a" : String.format(Locale.ROOT, "%d B/s per bot (max %d B/s)", this.bytesPerPlayerPerSecond, this.maxBytesPerPlayerPerSecond);
+
+            return String.format(Locale.ROOT, "tick %d: %d bots, %.2f ms/tick, %.0f packets/s out, %.0f packets/s in, %s", this.tick, this.players, this.averageTickTime, this.packetsSentPerSecond, this.packetsReceivedPerSecond, s);
+        }
+    }
+}
@@ -10,11 +10,9 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.security.PrivateKey;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nullable;
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
-import net.minecraft.DefaultUncaughtExceptionHandler;
 import net.minecraft.core.UUIDUtil;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.PacketSendListener;
@@ -40,17 +38,16 @@ import org.slf4j.Logger;
 
 public class LoginListener implements PacketLoginInListener, TickablePacketListener {
 
-    private static final AtomicInteger UNIQUE_THREAD_ID = new AtomicInteger(0);
     static final Logger LOGGER = LogUtils.getLogger();
     private static final int MAX_TICKS_BEFORE_LOGIN = 600;
     private static final RandomSource RANDOM = RandomSource.create();
     private final byte[] challenge;
     final MinecraftServer server;
     public final NetworkManager connection;
-    LoginListener.EnumProtocolState state;
+    volatile LoginListener.EnumProtocolState state;
     private int tick;
     @Nullable
-    GameProfile gameProfile;
+    volatile GameProfile gameProfile;
     private final String serverId;
     @Nullable
     private EntityPlayer delayedAcceptPlayer;
@@ -146,6 +143,12 @@ public class LoginListener implements PacketLoginInListener, TickablePacketListe
     @Override
     public void onDisconnect(IChatBaseComponent ichatbasecomponent) {
         LoginListener.LOGGER.info("{} lost connection: {}", this.getUserName(), ichatbasecomponent.getString());
+        GameProfile gameprofile = this.gameProfile;
+
+        if (gameprofile != null && gameprofile.getId() != null && this.state != LoginListener.EnumProtocolState.ACCEPTED) {
+            this.server.getPlayerList().playerIo.discardPrefetched(gameprofile.getId());
+        }
+
     }
 
     public String getUserName() {
@@ -203,46 +206,50 @@ public class LoginListener implements PacketLoginInListener, TickablePacketListe
             throw new IllegalStateException("Protocol error", cryptographyexception);
         }
 
-        Thread thread = new Thread("User Authenticator #" + LoginListener.UNIQUE_THREAD_ID.incrementAndGet()) {
-            public void run() {
-                GameProfile gameprofile = LoginListener.this.gameProfile;
-
-                try {
-                    LoginListener.this.gameProfile = LoginListener.this.server.getSessionService().hasJoinedServer(new GameProfile((UUID) null, gameprofile.getName()), s, this.getAddress());
-                    if (LoginListener.this.gameProfile != null) {
-                        LoginListener.LOGGER.info("UUID of player {} is {}", LoginListener.this.gameProfile.getName(), LoginListener.this.gameProfile.getId());
-                        LoginListener.this.state = LoginListener.EnumProtocolState.READY_TO_ACCEPT;
-                    } else if (LoginListener.this.server.isSingleplayer()) {
-                        LoginListener.LOGGER.warn("Failed to verify username but will let them in anyway!");
-                        LoginListener.this.gameProfile = gameprofile;
-                        LoginListener.this.state = LoginListener.EnumProtocolState.READY_TO_ACCEPT;
-                    } else {
-                        LoginListener.this.disconnect(IChatBaseComponent.translatable("multiplayer.disconnect.unverified_username"));
-                        LoginListener.LOGGER.error("Username '{}' tried to join with an invalid session", gameprofile.getName());
-                    }
-                } catch (AuthenticationUnavailableException authenticationunavailableexception) {
-                    if (LoginListener.this.server.isSingleplayer()) {
-                        LoginListener.LOGGER.warn("Authentication servers are down but will let them in anyway!");
-                        LoginListener.this.gameProfile = gameprofile;
-                        LoginListener.this.state = LoginListener.EnumProtocolState.READY_TO_ACCEPT;
-                    } else {
-                        LoginListener.this.disconnect(IChatBaseComponent.translatable("multiplayer.disconnect.authservers_down"));
-                        LoginListener.LOGGER.error("Couldn't verify username because servers are unavailable");
-                    }
-                }
+        this.server.getConnection().getLoginExecutor().execute(() -> {
+            this.authenticate(s);
+        });
+    }
 
+    private void authenticate(String s) {
+        GameProfile gameprofile = this.gameProfile;
+
+        try {
+            this.gameProfile = this.server.getSessionService().hasJoinedServer(new GameProfile((UUID) null, gameprofile.getName()), s, this.getAuthenticationAddress());
+            if (this.gameProfile != null) {
+                LoginListener.LOGGER.info("UUID of player {} is {}", this.gameProfile.getName(), this.gameProfile.getId());
+                this.server.getPlayerList().playerIo.prefetch(this.gameProfile.getId());
+                if (this.connection.isConnected()) {
+                    this.state = LoginListener.EnumProtocolState.READY_TO_ACCEPT;
+                } else {
+                    this.server.getPlayerList().playerIo.discardPrefetched(this.gameProfile.getId());
+                }
+            } else if (this.server.isSingleplayer()) {
+                LoginListener.LOGGER.warn("Failed to verify username but will let them in anyway!");
+                this.gameProfile = gameprofile;
+                this.state = LoginListener.EnumProtocolState.READY_TO_ACCEPT;
+            } else {
+                this.disconnect(IChatBaseComponent.translatable("multiplayer.disconnect.unverified_username"));
+                LoginListener.LOGGER.error("Username '{}' tried to join with an invalid session", gameprofile.getName());
+            }
+        } catch (AuthenticationUnavailableException authenticationunavailableexception) {
+            if (this.server.isSingleplayer()) {
+                LoginListener.LOGGER.warn("Authentication servers are down but will let them in anyway!");
+                this.gameProfile = gameprofile;
+                this.state = LoginListener.EnumProtocolState.READY_TO_ACCEPT;
+            } else {
+                this.disconnect(IChatBaseComponent.translatable("multiplayer.disconnect.authservers_down"));
+                LoginListener.LOGGER.error("Couldn't verify username because servers are unavailable");
             }
+        }
 
-            @Nullable
-            private InetAddress getAddress() {
-                SocketAddress socketaddress = LoginListener.this.connection.getRemoteAddress();
+    }
 
-                return LoginListener.this.server.getPreventProxyConnections() && socketaddress instanceof InetSocketAddress ? ((InetSocketAddress) socketaddress).getAddress() : null;
-            }
-        };
+    @Nullable
+    private InetAddress getAuthenticationAddress() {
+        SocketAddress socketaddress = this.connection.getRemoteAddress();
 
-        thread.setUncaughtExceptionHandler(new DefaultUncaughtExceptionHandler(LoginListener.LOGGER));
-        thread.start();
+        return this.server.getPreventProxyConnections() && socketaddress instanceof InetSocketAddress ? ((InetSocketAddress) socketaddress).getAddress() : null;
     }
 
     @Override
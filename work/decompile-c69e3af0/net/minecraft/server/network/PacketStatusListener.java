@@ -6,7 +6,6 @@ import net.minecraft.network.protocol.status.PacketStatusInListener;
 import net.minecraft.network.protocol.status.PacketStatusInPing;
 import net.minecraft.network.protocol.status.PacketStatusInStart;
 import net.minecraft.network.protocol.status.PacketStatusOutPong;
-import net.minecraft.network.protocol.status.PacketStatusOutServerInfo;
 import net.minecraft.server.MinecraftServer;
 
 public class PacketStatusListener implements PacketStatusInListener {
@@ -35,7 +34,7 @@ public class PacketStatusListener implements PacketStatusInListener {
             this.connection.disconnect(PacketStatusListener.DISCONNECT_REASON);
         } else {
             this.hasRequestedStatus = true;
-            this.connection.send(new PacketStatusOutServerInfo(this.server.getStatus()));
+            this.connection.send(this.server.getStatusPacket());
         }
     }
 
@@ -226,11 +226,12 @@ public class PlayerConnection implements ServerPlayerConnection, TickablePacketL
     private int knownMovePacketCount;
     private final AtomicReference<Instant> lastChatTimeStamp;
     @Nullable
-    private RemoteChatSession chatSession;
-    private SignedMessageChain.b signedMessageDecoder;
+    private volatile RemoteChatSession chatSession;
+    private volatile SignedMessageChain.b signedMessageDecoder;
     private final LastSeenMessagesValidator lastSeenMessages;
     private final MessageSignatureCache messageSignatureCache;
     private final FutureChain chatMessageChain;
+    private final FutureChain chatValidationChain;
 
     public PlayerConnection(MinecraftServer minecraftserver, NetworkManager networkmanager, EntityPlayer entityplayer) {
         this.lastChatTimeStamp = new AtomicReference(Instant.EPOCH);
@@ -245,6 +246,7 @@ public class PlayerConnection implements ServerPlayerConnection, TickablePacketL
         entityplayer.getTextFilter().join();
         this.signedMessageDecoder = minecraftserver.enforceSecureProfile() ? SignedMessageChain.b.REJECT_ALL : SignedMessageChain.b.unsigned(entityplayer.getUUID());
         this.chatMessageChain = new FutureChain(minecraftserver);
+        this.chatValidationChain = new FutureChain(SystemUtils.backgroundExecutor());
     }
 
     @Override
@@ -1252,6 +1254,7 @@ public class PlayerConnection implements ServerPlayerConnection, TickablePacketL
     @Override
     public void onDisconnect(IChatBaseComponent ichatbasecomponent) {
         this.chatMessageChain.close();
+        this.chatValidationChain.close();
         PlayerConnection.LOGGER.info("{} lost connection: {}", this.player.getName().getString(), ichatbasecomponent.getString());
         this.server.invalidateStatus();
         this.server.getPlayerList().broadcastSystemMessage(IChatBaseComponent.translatable("multiplayer.player.left", this.player.getDisplayName()).withStyle(EnumChatFormat.YELLOW), false);
@@ -1278,6 +1281,10 @@ public class PlayerConnection implements ServerPlayerConnection, TickablePacketL
         this.send(packet, (PacketSendListener) null);
     }
 
+    public void sendBatch(List<Packet<?>> list) {
+        this.connection.sendBatch(list);
+    }
+
     public void send(Packet<?> packet, @Nullable PacketSendListener packetsendlistener) {
         try {
             this.connection.send(packet, packetsendlistener);
@@ -1315,32 +1322,42 @@ public class PlayerConnection implements ServerPlayerConnection, TickablePacketL
             Optional<LastSeenMessages> optional = this.tryHandleChat(packetplayinchat.message(), packetplayinchat.timeStamp(), packetplayinchat.lastSeenMessages());
 
             if (optional.isPresent()) {
-                this.server.submit(() -> {
-                    PlayerChatMessage playerchatmessage;
-
-                    try {
-                        playerchatmessage = this.getSignedMessage(packetplayinchat, (LastSeenMessages) optional.get());
-                    } catch (SignedMessageChain.a signedmessagechain_a) {
-                        this.handleMessageDecodeFailure(signedmessagechain_a);
-                        return;
-                    }
-
-                    CompletableFuture<FilteredText> completablefuture = this.filterTextPacket(playerchatmessage.signedContent());
-                    CompletableFuture<IChatBaseComponent> completablefuture1 = this.server.getChatDecorator().decorate(this.player, playerchatmessage.decoratedContent());
-
-                    this.chatMessageChain.append((executor) -> {
-                        return CompletableFuture.allOf(completablefuture, completablefuture1).thenAcceptAsync((ovoid) -> {
-                            PlayerChatMessage playerchatmessage1 = playerchatmessage.withUnsignedContent((IChatBaseComponent) completablefuture1.join()).filter(((FilteredText) completablefuture.join()).mask());
+                this.chatValidationChain.append((executor) -> {
+                    return CompletableFuture.runAsync(() -> {
+                        PlayerChatMessage playerchatmessage;
+
+                        try {
+                            playerchatmessage = this.getSignedMessage(packetplayinchat, (LastSeenMessages) optional.get());
+                        } catch (SignedMessageChain.a signedmessagechain_a) {
+                            this.server.execute(() -> {
+                                this.handleMessageDecodeFailure(signedmessagechain_a);
+                            });
+                            return;
+                        }
 
-                            this.broadcastChatMessage(playerchatmessage1);
-                        }, executor);
-                    });
+                        this.server.execute(() -> {
+                            this.handleSignedChatMessage(playerchatmessage);
+                        });
+                    }, executor);
                 });
             }
 
         }
     }
 
+    private void handleSignedChatMessage(PlayerChatMessage playerchatmessage) {
+        CompletableFuture<FilteredText> completablefuture = this.filterTextPacket(playerchatmessage.signedContent());
+        CompletableFuture<IChatBaseComponent> completablefuture1 = this.server.getChatDecorator().decorate(this.player, playerchatmessage.decoratedContent());
+
+        this.chatMessageChain.append((executor) -> {
+            return CompletableFuture.allOf(completablefuture, completablefuture1).thenAcceptAsync((ovoid) -> {
+                PlayerChatMessage playerchatmessage1 = playerchatmessage.withUnsignedContent((IChatBaseComponent) completablefuture1.join()).filter(((FilteredText) completablefuture.join()).mask());
+
+                this.broadcastChatMessage(playerchatmessage1);
+            }, executor);
+        });
+    }
+
     @Override
     public void handleChatCommand(ServerboundChatCommandPacket serverboundchatcommandpacket) {
         if (isChatMessageIllegal(serverboundchatcommandpacket.command())) {
@@ -1349,9 +1366,11 @@ public class PlayerConnection implements ServerPlayerConnection, TickablePacketL
             Optional<LastSeenMessages> optional = this.tryHandleChat(serverboundchatcommandpacket.command(), serverboundchatcommandpacket.timeStamp(), serverboundchatcommandpacket.lastSeenMessages());
 
             if (optional.isPresent()) {
-                this.server.submit(() -> {
-                    this.performChatCommand(serverboundchatcommandpacket, (LastSeenMessages) optional.get());
-                    this.detectRateSpam();
+                this.chatValidationChain.append((executor) -> {
+                    return CompletableFuture.runAsync(() -> {
+                        this.performChatCommand(serverboundchatcommandpacket, (LastSeenMessages) optional.get());
+                        this.detectRateSpam();
+                    }, this.server);
                 });
             }
 
@@ -1566,7 +1585,12 @@ public class PlayerConnection implements ServerPlayerConnection, TickablePacketL
         MessageSignature messagesignature = playerchatmessage.signature();
 
         if (messagesignature != null) {
-            this.messageSignatureCache.push(playerchatmessage);
+            MessageSignatureCache messagesignaturecache = this.messageSignatureCache;
+
+            synchronized (this.messageSignatureCache) {
+                this.messageSignatureCache.push(playerchatmessage);
+            }
+
             LastSeenMessagesValidator lastseenmessagesvalidator = this.lastSeenMessages;
             int i;
 
@@ -1583,8 +1607,12 @@ public class PlayerConnection implements ServerPlayerConnection, TickablePacketL
     }
 
     public void sendPlayerChatMessage(PlayerChatMessage playerchatmessage, ChatMessageType.a chatmessagetype_a) {
-        this.send(new ClientboundPlayerChatPacket(playerchatmessage.link().sender(), playerchatmessage.link().index(), playerchatmessage.signature(), playerchatmessage.signedBody().pack(this.messageSignatureCache), playerchatmessage.unsignedContent(), playerchatmessage.filterMask(), chatmessagetype_a.toNetwork(this.player.level.registryAccess())));
-        this.addPendingMessage(playerchatmessage);
+        MessageSignatureCache messagesignaturecache = this.messageSignatureCache;
+
+        synchronized (this.messageSignatureCache) {
+            this.send(new ClientboundPlayerChatPacket(playerchatmessage.link().sender(), playerchatmessage.link().index(), playerchatmessage.signature(), playerchatmessage.signedBody().pack(this.messageSignatureCache), playerchatmessage.unsignedContent(), playerchatmessage.filterMask(), chatmessagetype_a.toNetwork(this.player.level.registryAccess())));
+            this.addPendingMessage(playerchatmessage);
+        }
     }
 
     public void sendDisguisedChatMessage(IChatBaseComponent ichatbasecomponent, ChatMessageType.a chatmessagetype_a) {
@@ -1765,7 +1793,7 @@ public class PlayerConnection implements ServerPlayerConnection, TickablePacketL
 
     @Override
     public void handleSetCreativeModeSlot(PacketPlayInSetCreativeSlot packetplayinsetcreativeslot) {
-        PlayerConnectionUtils.ensureRunningOnSameThread(packetplayinsetcreativeslot, this, this.player.getLevel());
+        PlayerConnectionUtils.ensureRunningOnSameThread(packetplayinsetcreativeslot, this, this.player.getLevel(), PlayerConnection::isCreativeSlotPacketValid);
         if (this.player.gameMode.isCreative()) {
             boolean flag = packetplayinsetcreativeslot.getSlotNum() < 0;
             ItemStack itemstack = packetplayinsetcreativeslot.getItem();
@@ -1802,6 +1830,13 @@ public class PlayerConnection implements ServerPlayerConnection, TickablePacketL
 
     }
 
+    private static boolean isCreativeSlotPacketValid(PacketPlayInSetCreativeSlot packetplayinsetcreativeslot) {
+        int i = packetplayinsetcreativeslot.getSlotNum();
+        ItemStack itemstack = packetplayinsetcreativeslot.getItem();
+
+        return (i < 0 || i >= 1 && i <= 45) && (itemstack.isEmpty() || itemstack.getDamageValue() >= 0 && itemstack.getCount() <= 64);
+    }
+
     @Override
     public void handleSignUpdate(PacketPlayInUpdateSign packetplayinupdatesign) {
         List<String> list = (List) Stream.of(packetplayinupdatesign.getLines()).map(EnumChatFormat::stripFormatting).collect(Collectors.toList());
@@ -1893,14 +1928,22 @@ public class PlayerConnection implements ServerPlayerConnection, TickablePacketL
 
     @Override
     public void handleChatSessionUpdate(ServerboundChatSessionUpdatePacket serverboundchatsessionupdatepacket) {
-        PlayerConnectionUtils.ensureRunningOnSameThread(serverboundchatsessionupdatepacket, this, this.player.getLevel());
-        RemoteChatSession.a remotechatsession_a = serverboundchatsessionupdatepacket.chatSession();
+        this.chatValidationChain.append((executor) -> {
+            return CompletableFuture.runAsync(() -> {
+                this.updateChatSession(serverboundchatsessionupdatepacket.chatSession());
+            }, executor);
+        });
+    }
+
+    private void updateChatSession(RemoteChatSession.a remotechatsession_a) {
         ProfilePublicKey.a profilepublickey_a = this.chatSession != null ? this.chatSession.profilePublicKey().data() : null;
         ProfilePublicKey.a profilepublickey_a1 = remotechatsession_a.profilePublicKey();
 
         if (!Objects.equals(profilepublickey_a, profilepublickey_a1)) {
             if (profilepublickey_a != null && profilepublickey_a1.expiresAt().isBefore(profilepublickey_a.expiresAt())) {
-                this.disconnect(ProfilePublicKey.EXPIRED_PROFILE_PUBLIC_KEY);
+                this.server.execute(() -> {
+                    this.disconnect(ProfilePublicKey.EXPIRED_PROFILE_PUBLIC_KEY);
+                });
             } else {
                 try {
                     SignatureValidator signaturevalidator = this.server.getServiceSignatureValidator();
@@ -1908,7 +1951,9 @@ public class PlayerConnection implements ServerPlayerConnection, TickablePacketL
                     this.resetPlayerChatState(remotechatsession_a.validate(this.player.getGameProfile(), signaturevalidator, Duration.ZERO));
                 } catch (ProfilePublicKey.b profilepublickey_b) {
                     PlayerConnection.LOGGER.error("Failed to validate profile key: {}", profilepublickey_b.getMessage());
-                    this.disconnect(profilepublickey_b.getComponent());
+                    this.server.execute(() -> {
+                        this.disconnect(profilepublickey_b.getComponent());
+                    });
                 }
 
             }
@@ -1918,10 +1963,12 @@ public class PlayerConnection implements ServerPlayerConnection, TickablePacketL
     private void resetPlayerChatState(RemoteChatSession remotechatsession) {
         this.chatSession = remotechatsession;
         this.signedMessageDecoder = remotechatsession.createMessageDecoder(this.player.getUUID());
-        this.chatMessageChain.append((executor) -> {
-            this.player.setChatSession(remotechatsession);
-            this.server.getPlayerList().broadcastAll(new ClientboundPlayerInfoUpdatePacket(EnumSet.of(ClientboundPlayerInfoUpdatePacket.a.INITIALIZE_CHAT), List.of(this.player)));
-            return CompletableFuture.completedFuture((Object) null);
+        this.server.execute(() -> {
+            this.chatMessageChain.append((executor) -> {
+                this.player.setChatSession(remotechatsession);
+                this.server.getPlayerList().broadcastAll(new ClientboundPlayerInfoUpdatePacket(EnumSet.of(ClientboundPlayerInfoUpdatePacket.a.INITIALIZE_CHAT), List.of(this.player)));
+                return CompletableFuture.completedFuture((Object) null);
+            });
         });
     }
 
@@ -13,6 +13,7 @@ import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
@@ -31,14 +32,21 @@ import java.net.SocketAddress;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 import net.minecraft.CrashReport;
+import net.minecraft.DefaultUncaughtExceptionHandler;
 import net.minecraft.ReportedException;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.NetworkManagerServer;
 import net.minecraft.network.PacketDecoder;
 import net.minecraft.network.PacketEncoder;
+import net.minecraft.network.PacketMetrics;
 import net.minecraft.network.PacketPrepender;
 import net.minecraft.network.PacketSendListener;
 import net.minecraft.network.PacketSplitter;
@@ -59,10 +67,23 @@ public class ServerConnection {
     public static final LazyInitVar<EpollEventLoopGroup> SERVER_EPOLL_EVENT_GROUP = new LazyInitVar<>(() -> {
         return new EpollEventLoopGroup(0, (new ThreadFactoryBuilder()).setNameFormat("Netty Epoll Server IO #%d").setDaemon(true).build());
     });
+    private static final String IO_URING_PACKAGE = "io.netty.incubator.channel.uring.";
+    public static final LazyInitVar<EventLoopGroup> SERVER_IO_URING_EVENT_GROUP = new LazyInitVar<>(() -> {
+        return createIoUringGroup(0, (new ThreadFactoryBuilder()).setNameFormat("Netty IO_uring Server IO #%d").setDaemon(true).build());
+    });
     final MinecraftServer server;
     public volatile boolean running;
     private final List<ChannelFuture> channels = Collections.synchronizedList(Lists.newArrayList());
+    private final List<EventLoopGroup> ownedEventLoopGroups = Collections.synchronizedList(Lists.newArrayList());
     final List<NetworkManager> connections = Collections.synchronizedList(Lists.newArrayList());
+    final LegacyPingHandler.ReplyCache legacyPingReplies = new LegacyPingHandler.ReplyCache();
+    private final PacketMetrics packetMetrics = new PacketMetrics((PacketMetrics) null);
+    @Nullable
+    private ExecutorService loginExecutor;
+    @Nullable
+    private SocketAddress memoryAddress;
+    @Nullable
+    private LoadTestHarness loadTest;
 
     public ServerConnection(MinecraftServer minecraftserver) {
         this.server = minecraftserver;
@@ -73,27 +94,28 @@ public class ServerConnection {
         List list = this.channels;
 
         synchronized (this.channels) {
-            Class oclass;
-            LazyInitVar lazyinitvar;
-
-            if (Epoll.isAvailable() && this.server.isEpollEnabled()) {
-                oclass = EpollServerSocketChannel.class;
-                lazyinitvar = ServerConnection.SERVER_EPOLL_EVENT_GROUP;
-                ServerConnection.LOGGER.info("Using epoll channel type");
-            } else {
-                oclass = NioServerSocketChannel.class;
-                lazyinitvar = ServerConnection.SERVER_EVENT_GROUP;
-                ServerConnection.LOGGER.info("Using default channel type");
+            final ServerConnection.TransportSettings serverconnection_transportsettings = this.server.getTransportSettings();
+            ServerConnection.Transport serverconnection_transport = ServerConnection.Transport.select(this.server.isEpollEnabled(), serverconnection_transportsettings.preferIoUring());
+            EventLoopGroup eventloopgroup = this.getEventLoopGroup(serverconnection_transport, serverconnection_transportsettings.ioThreads());
+            ServerBootstrap serverbootstrap = (new ServerBootstrap()).channel(serverconnection_transport.serverChannelClass());
+
+            ServerConnection.LOGGER.info("Using {} channel type", serverconnection_transport.getName());
+            if (serverconnection_transportsettings.writeBufferHighWaterMark() > 0) {
+                serverbootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(serverconnection_transportsettings.writeBufferLowWaterMark(), serverconnection_transportsettings.writeBufferHighWaterMark()));
             }
 
-            this.channels.add(((ServerBootstrap) ((ServerBootstrap) (new ServerBootstrap()).channel(oclass)).childHandler(new ChannelInitializer<Channel>() {
+            this.channels.add(((ServerBootstrap) serverbootstrap.childHandler(new ChannelInitializer<Channel>() {
                 protected void initChannel(Channel channel) {
                     try {
-                        channel.config().setOption(ChannelOption.TCP_NODELAY, true);
+                        channel.config().setOption(ChannelOption.TCP_NODELAY, serverconnection_transportsettings.tcpNoDelay());
+                        if (serverconnection_transportsettings.sendBufferSize() > 0) {
+                            channel.config().setOption(ChannelOption.SO_SNDBUF, serverconnection_transportsettings.sendBufferSize());
+                        }
                     } catch (ChannelException channelexception) {
                         ;
                     }
 
+                    channel.attr(NetworkManager.ATTRIBUTE_METRICS).set(new PacketMetrics(ServerConnection.this.packetMetrics));
                     channel.pipeline().addLast("timeout", new ReadTimeoutHandler(30)).addLast("legacy_query", new LegacyPingHandler(ServerConnection.this)).addLast("splitter", new PacketSplitter()).addLast("decoder", new PacketDecoder(EnumProtocolDirection.SERVERBOUND)).addLast("prepender", new PacketPrepender()).addLast("encoder", new PacketEncoder(EnumProtocolDirection.CLIENTBOUND));
                     int j = ServerConnection.this.server.getRateLimitPacketsPerSecond();
                     Object object = j > 0 ? new NetworkManagerServer(j) : new NetworkManager(EnumProtocolDirection.SERVERBOUND);
@@ -102,7 +124,18 @@ public class ServerConnection {
                     channel.pipeline().addLast("packet_handler", (ChannelHandler) object);
                     ((NetworkManager) object).setListener(new HandshakeListener(ServerConnection.this.server, (NetworkManager) object));
                 }
-            }).group((EventLoopGroup) lazyinitvar.get()).localAddress(inetaddress, i)).bind().syncUninterruptibly());
+            }).group(eventloopgroup).localAddress(inetaddress, i)).bind().syncUninterruptibly());
+        }
+    }
+
+    private EventLoopGroup getEventLoopGroup(ServerConnection.Transport serverconnection_transport, int i) {
+        if (i <= 0) {
+            return serverconnection_transport.sharedGroup();
+        } else {
+            EventLoopGroup eventloopgroup = serverconnection_transport.createGroup(i);
+
+            this.ownedEventLoopGroups.add(eventloopgroup);
+            return eventloopgroup;
         }
     }
 
@@ -126,8 +159,43 @@ public class ServerConnection {
         return channelfuture.channel().localAddress();
     }
 
+    public synchronized SocketAddress getMemoryAddress() {
+        if (this.memoryAddress == null) {
+            this.memoryAddress = this.startMemoryChannel();
+        }
+
+        return this.memoryAddress;
+    }
+
+    public synchronized LoadTestHarness startLoadTest(LoadTestHarness.Options loadtestharness_options) {
+        if (this.loadTest != null) {
+            this.loadTest.stop();
+        }
+
+        this.loadTest = LoadTestHarness.start(this.server, this, loadtestharness_options);
+        return this.loadTest;
+    }
+
+    @Nullable
+    public synchronized LoadTestHarness stopLoadTest() {
+        LoadTestHarness loadtestharness = this.loadTest;
+
+        if (loadtestharness != null) {
+            loadtestharness.stop();
+            this.loadTest = null;
+        }
+
+        return loadtestharness;
+    }
+
+    @Nullable
+    public synchronized LoadTestHarness getLoadTest() {
+        return this.loadTest;
+    }
+
     public void stop() {
         this.running = false;
+        this.stopLoadTest();
         Iterator iterator = this.channels.iterator();
 
         while (iterator.hasNext()) {
@@ -140,6 +208,53 @@ public class ServerConnection {
             }
         }
 
+        List list = this.ownedEventLoopGroups;
+
+        synchronized (this.ownedEventLoopGroups) {
+            Iterator iterator1 = this.ownedEventLoopGroups.iterator();
+
+            while (iterator1.hasNext()) {
+                EventLoopGroup eventloopgroup = (EventLoopGroup) iterator1.next();
+
+                eventloopgroup.shutdownGracefully();
+            }
+
+            this.ownedEventLoopGroups.clear();
+        }
+
+        synchronized (this) {
+            if (this.loginExecutor != null) {
+                this.loginExecutor.shutdownNow();
+                this.loginExecutor = null;
+            }
+        }
+    }
+
+    public synchronized Executor getLoginExecutor() {
+        if (this.loginExecutor == null) {
+            int i = this.server.getMaxConcurrentLogins();
+            ThreadPoolExecutor threadpoolexecutor = new ThreadPoolExecutor(i, i, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue(), createLoginThreadFactory());
+
+            threadpoolexecutor.allowCoreThreadTimeOut(true);
+            this.loginExecutor = threadpoolexecutor;
+        }
+
+        return this.loginExecutor;
+    }
+
+    private static ThreadFactory createLoginThreadFactory() {
+        DefaultUncaughtExceptionHandler defaultuncaughtexceptionhandler = new DefaultUncaughtExceptionHandler(ServerConnection.LOGGER);
+
+        try {
+            Class<?> oclass = Class.forName("java.lang.Thread$Builder");
+            Object object = Thread.class.getMethod("ofVirtual").invoke((Object) null);
+
+            object = oclass.getMethod("name", String.class, Long.TYPE).invoke(object, "User Authenticator #", 1L);
+            object = oclass.getMethod("uncaughtExceptionHandler", Thread.UncaughtExceptionHandler.class).invoke(object, defaultuncaughtexceptionhandler);
+            return (ThreadFactory) oclass.getMethod("factory").invoke(object);
+        } catch (ReflectiveOperationException | RuntimeException runtimeexception) {
+            return (new ThreadFactoryBuilder()).setNameFormat("User Authenticator #%d").setDaemon(true).setUncaughtExceptionHandler(defaultuncaughtexceptionhandler).build();
+        }
     }
 
     public void tick() {
@@ -178,6 +293,10 @@ public class ServerConnection {
         }
     }
 
+    public PacketMetrics getPacketMetrics() {
+        return this.packetMetrics;
+    }
+
     public MinecraftServer getServer() {
         return this.server;
     }
@@ -186,6 +305,89 @@ public class ServerConnection {
         return this.connections;
     }
 
+    static Class<?> ioUringClass(String s) {
+        try {
+            return Class.forName(ServerConnection.IO_URING_PACKAGE + s);
+        } catch (ClassNotFoundException | LinkageError classnotfoundexception) {
+            throw new IllegalStateException("io_uring transport is not on the classpath", classnotfoundexception);
+        }
+    }
+
+    static EventLoopGroup createIoUringGroup(int i, ThreadFactory threadfactory) {
+        try {
+            return (EventLoopGroup) ioUringClass("IOUringEventLoopGroup").getConstructor(Integer.TYPE, ThreadFactory.class).newInstance(i, threadfactory);
+        } catch (ReflectiveOperationException reflectiveoperationexception) {
+            throw new IllegalStateException("Failed to create io_uring event loop group", reflectiveoperationexception);
+        }
+    }
+
+    public static record TransportSettings(boolean preferIoUring, int ioThreads, boolean tcpNoDelay, int sendBufferSize, int writeBufferLowWaterMark, int writeBufferHighWaterMark) {
+
+        public static final ServerConnection.TransportSettings DEFAULT = new ServerConnection.TransportSettings(false, 0, true, 0, 0, 0);
+    }
+
+    public static enum Transport {
+
+        NIO("default"), EPOLL("epoll"), IO_URING("io_uring");
+
+        private final String name;
+
+        private Transport(String s) {
+            this.name = s;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public static ServerConnection.Transport select(boolean flag, boolean flag1) {
+            return !flag ? ServerConnection.Transport.NIO : (flag1 && isIoUringAvailable() ? ServerConnection.Transport.IO_URING : (Epoll.isAvailable() ? ServerConnection.Transport.EPOLL : ServerConnection.Transport.NIO));
+        }
+
+        private static boolean isIoUringAvailable() {
+            try {
+                return (Boolean) ioUringClass("IOUring").getMethod("isAvailable").invoke((Object) null);
+            } catch (ReflectiveOperationException | LinkageError | IllegalStateException illegalstateexception) {
+                return false;
+            }
+        }
+
+        public Class<? extends ServerSocketChannel> serverChannelClass() {
+            switch (this) {
+                case EPOLL:
+                    return EpollServerSocketChannel.class;
+                case IO_URING:
+                    return ioUringClass("IOUringServerSocketChannel").asSubclass(ServerSocketChannel.class);
+                default:
+                    return NioServerSocketChannel.class;
+            }
+        }
+
+        public EventLoopGroup sharedGroup() {
+            switch (this) {
+                case EPOLL:
+                    return (EventLoopGroup) ServerConnection.SERVER_EPOLL_EVENT_GROUP.get();
+                case IO_URING:
+                    return (EventLoopGroup) ServerConnection.SERVER_IO_URING_EVENT_GROUP.get();
+                default:
+                    return (EventLoopGroup) ServerConnection.SERVER_EVENT_GROUP.get();
+            }
+        }
+
+        public EventLoopGroup createGroup(int i) {
+            ThreadFactory threadfactory = (new ThreadFactoryBuilder()).setNameFormat("Netty " + this.name + " Server IO #%d").setDaemon(true).build();
+
+            switch (this) {
+                case EPOLL:
+                    return new EpollEventLoopGroup(i, threadfactory);
+                case IO_URING:
+                    return createIoUringGroup(i, threadfactory);
+                default:
+                    return new NioEventLoopGroup(i, threadfactory);
+            }
+        }
+    }
+
     private static class LatencySimulator extends ChannelInboundHandlerAdapter {
 
         private static final Timer TIMER = new HashedWheelTimer();
@@ -0,0 +1,217 @@
+package net.minecraft.server.players;
+
+import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import javax.annotation.Nullable;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoRemovePacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoUpdatePacket;
+import net.minecraft.server.level.EntityPlayer;
+
+public class PlayerInfoBatcher {
+
+    public static final int LATENCY_UPDATE_INTERVAL = 600;
+    private final PlayerList playerList;
+    private final Map<UUID, Set<UUID>> knownBy = new Object2ObjectOpenHashMap();
+    private final Set<UUID> pendingAdds = new ObjectLinkedOpenHashSet();
+    private final Set<UUID> pendingRemoves = new ObjectLinkedOpenHashSet();
+    private final Map<UUID, EnumSet<ClientboundPlayerInfoUpdatePacket.a>> pendingUpdates = new Object2ObjectLinkedOpenHashMap();
+    private final Object2IntMap<UUID> sentLatency = new Object2IntOpenHashMap();
+    private int tickCount;
+
+    public PlayerInfoBatcher(PlayerList playerlist) {
+        this.playerList = playerlist;
+    }
+
+    public void onJoin(EntityPlayer entityplayer, Collection<EntityPlayer> collection) {
+        Set<UUID> set = new ObjectOpenHashSet(collection.size() + 1);
+        Iterator iterator = collection.iterator();
+
+        while (iterator.hasNext()) {
+            EntityPlayer entityplayer1 = (EntityPlayer) iterator.next();
+
+            set.add(entityplayer1.getUUID());
+        }
+
+        this.knownBy.put(entityplayer.getUUID(), set);
+        this.pendingAdds.add(entityplayer.getUUID());
+    }
+
+    public void onLeave(EntityPlayer entityplayer) {
+        UUID uuid = entityplayer.getUUID();
+
+        this.knownBy.remove(uuid);
+        this.pendingAdds.remove(uuid);
+        this.pendingUpdates.remove(uuid);
+        this.sentLatency.removeInt(uuid);
+        this.pendingRemoves.add(uuid);
+    }
+
+    public void queueUpdate(EntityPlayer entityplayer, ClientboundPlayerInfoUpdatePacket.a clientboundplayerinfoupdatepacket_a) {
+        ((EnumSet) this.pendingUpdates.computeIfAbsent(entityplayer.getUUID(), (uuid) -> {
+            return EnumSet.noneOf(ClientboundPlayerInfoUpdatePacket.a.class);
+        })).add(clientboundplayerinfoupdatepacket_a);
+    }
+
+    public void ensureKnown(EntityPlayer entityplayer, EntityPlayer entityplayer1) {
+        Set<UUID> set = (Set) this.knownBy.get(entityplayer.getUUID());
+
+        if (set != null && !set.contains(entityplayer1.getUUID()) && this.pendingAdds.contains(entityplayer1.getUUID())) {
+            List<EntityPlayer> list = this.unknownTo(set, this.resolve(this.pendingAdds));
+
+            entityplayer.connection.send(ClientboundPlayerInfoUpdatePacket.createPlayerInitializing(list));
+            this.markKnown(set, list);
+        }
+
+    }
+
+    public void tick() {
+        List<EntityPlayer> list = this.playerList.getPlayers();
+        int i = this.tickCount++ % 600;
+        Iterator iterator = list.iterator();
+
+        while (iterator.hasNext()) {
+            EntityPlayer entityplayer = (EntityPlayer) iterator.next();
+
+            if (Math.floorMod(entityplayer.getId(), 600) == i && this.sentLatency.getOrDefault(entityplayer.getUUID(), -1) != entityplayer.latency) {
+                this.queueUpdate(entityplayer, ClientboundPlayerInfoUpdatePacket.a.UPDATE_LATENCY);
+            }
+        }
+
+        this.flush(list);
+    }
+
+    private void flush(List<EntityPlayer> list) {
+        if (!this.pendingAdds.isEmpty() || !this.pendingRemoves.isEmpty() || !this.pendingUpdates.isEmpty()) {
+            List<UUID> list1 = List.copyOf(this.pendingRemoves);
+            List<EntityPlayer> list2 = this.resolve(this.pendingAdds);
+            List<EntityPlayer> list3 = Lists.newArrayList();
+            EnumSet<ClientboundPlayerInfoUpdatePacket.a> enumset = EnumSet.noneOf(ClientboundPlayerInfoUpdatePacket.a.class);
+            Iterator iterator = list.iterator();
+
+            while (iterator.hasNext()) {
+                EntityPlayer entityplayer = (EntityPlayer) iterator.next();
+                EnumSet<ClientboundPlayerInfoUpdatePacket.a> enumset1 = (EnumSet) this.pendingUpdates.get(entityplayer.getUUID());
+
+                if (enumset1 != null && !this.pendingAdds.contains(entityplayer.getUUID())) {
+                    list3.add(entityplayer);
+                    enumset.addAll(enumset1);
+                }
+            }
+
+            ClientboundPlayerInfoRemovePacket clientboundplayerinforemovepacket = list1.isEmpty() ? null : new ClientboundPlayerInfoRemovePacket(list1);
+            ClientboundPlayerInfoUpdatePacket clientboundplayerinfoupdatepacket = list2.isEmpty() ? null : ClientboundPlayerInfoUpdatePacket.createPlayerInitializing(list2);
+            ClientboundPlayerInfoUpdatePacket clientboundplayerinfoupdatepacket1 = list3.isEmpty() ? null : new ClientboundPlayerInfoUpdatePacket(enumset, list3);
+            Iterator iterator1 = list.iterator();
+
+            while (iterator1.hasNext()) {
+                EntityPlayer entityplayer1 = (EntityPlayer) iterator1.next();
+                Set<UUID> set = (Set) this.knownBy.get(entityplayer1.getUUID());
+
+                if (set != null) {
+                    this.sendRemoves(entityplayer1, set, list1, clientboundplayerinforemovepacket);
+                    this.sendAdds(entityplayer1, set, list2, clientboundplayerinfoupdatepacket);
+                    this.sendUpdates(entityplayer1, set, list3, enumset, clientboundplayerinfoupdatepacket1);
+                }
+            }
+
+            this.markLatencySent(list2);
+            this.markLatencySent(list3);
+            this.pendingRemoves.clear();
+            this.pendingAdds.clear();
+            this.pendingUpdates.clear();
+        }
+    }
+
+    private void sendRemoves(EntityPlayer entityplayer, Set<UUID> set, List<UUID> list, @Nullable ClientboundPlayerInfoRemovePacket clientboundplayerinforemovepacket) {
+        if (clientboundplayerinforemovepacket != null) {
+            List<UUID> list1 = list.stream().filter(set::contains).toList();
+
+            if (!list1.isEmpty()) {
+                entityplayer.connection.send(list1.size() == list.size() ? clientboundplayerinforemovepacket : new ClientboundPlayerInfoRemovePacket(list1));
+                set.removeAll(list1);
+            }
+
+        }
+    }
+
+    private void sendAdds(EntityPlayer entityplayer, Set<UUID> set, List<EntityPlayer> list, @Nullable ClientboundPlayerInfoUpdatePacket clientboundplayerinfoupdatepacket) {
+        if (clientboundplayerinfoupdatepacket != null) {
+            List<EntityPlayer> list1 = this.unknownTo(set, list);
+
+            if (!list1.isEmpty()) {
+                entityplayer.connection.send(list1.size() == list.size() ? clientboundplayerinfoupdatepacket : ClientboundPlayerInfoUpdatePacket.createPlayerInitializing(list1));
+                this.markKnown(set, list1);
+            }
+
+        }
+    }
+
+    private void sendUpdates(EntityPlayer entityplayer, Set<UUID> set, List<EntityPlayer> list, EnumSet<ClientboundPlayerInfoUpdatePacket.a> enumset, @Nullable ClientboundPlayerInfoUpdatePacket clientboundplayerinfoupdatepacket) {
+        if (clientboundplayerinfoupdatepacket != null) {
+            List<EntityPlayer> list1 = list.stream().filter((entityplayer1) -> {
+                return set.contains(entityplayer1.getUUID());
+            }).toList();
+
+            if (!list1.isEmpty()) {
+                entityplayer.connection.send(list1.size() == list.size() ? clientboundplayerinfoupdatepacket : new ClientboundPlayerInfoUpdatePacket(enumset, list1));
+            }
+
+        }
+    }
+
+    private List<EntityPlayer> resolve(Set<UUID> set) {
+        List<EntityPlayer> list = Lists.newArrayListWithCapacity(set.size());
+        Iterator iterator = set.iterator();
+
+        while (iterator.hasNext()) {
+            UUID uuid = (UUID) iterator.next();
+            EntityPlayer entityplayer = this.playerList.getPlayer(uuid);
+
+            if (entityplayer != null) {
+                list.add(entityplayer);
+            }
+        }
+
+        return list;
+    }
+
+    private List<EntityPlayer> unknownTo(Set<UUID> set, List<EntityPlayer> list) {
+        return list.stream().filter((entityplayer) -> {
+            return !set.contains(entityplayer.getUUID());
+        }).toList();
+    }
+
+    private void markKnown(Set<UUID> set, List<EntityPlayer> list) {
+        Iterator iterator = list.iterator();
+
+        while (iterator.hasNext()) {
+            EntityPlayer entityplayer = (EntityPlayer) iterator.next();
+
+            set.add(entityplayer.getUUID());
+        }
+
+    }
+
+    private void markLatencySent(List<EntityPlayer> list) {
+        Iterator iterator = list.iterator();
+
+        while (iterator.hasNext()) {
+            EntityPlayer entityplayer = (EntityPlayer) iterator.next();
+
+            this.sentLatency.put(entityplayer.getUUID(), entityplayer.latency);
+        }
+
+    }
+}
@@ -14,7 +14,6 @@ import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.util.Collection;
-import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -22,11 +21,13 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
 import net.minecraft.EnumChatFormat;
 import net.minecraft.FileUtils;
+import net.minecraft.SystemUtils;
 import net.minecraft.commands.CommandListenerWrapper;
 import net.minecraft.core.BlockPosition;
 import net.minecraft.core.IRegistryCustom;
@@ -44,7 +45,6 @@ import net.minecraft.network.chat.OutgoingChatMessage;
 import net.minecraft.network.chat.PlayerChatMessage;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientboundInitializeBorderPacket;
-import net.minecraft.network.protocol.game.ClientboundPlayerInfoRemovePacket;
 import net.minecraft.network.protocol.game.ClientboundPlayerInfoUpdatePacket;
 import net.minecraft.network.protocol.game.ClientboundSetBorderCenterPacket;
 import net.minecraft.network.protocol.game.ClientboundSetBorderLerpSizePacket;
@@ -84,6 +84,7 @@ import net.minecraft.stats.ServerStatisticManager;
 import net.minecraft.stats.StatisticList;
 import net.minecraft.tags.TagNetworkSerialization;
 import net.minecraft.tags.TagsBlock;
+import net.minecraft.util.FutureChain;
 import net.minecraft.util.MathHelper;
 import net.minecraft.world.effect.MobEffect;
 import net.minecraft.world.entity.Entity;
@@ -135,7 +136,8 @@ public abstract class PlayerList {
     private int simulationDistance;
     private boolean allowCheatsForAllPlayers;
     private static final boolean ALLOW_LOGOUTIVATOR = false;
-    private int sendAllPlayerInfoIn;
+    private final PlayerInfoBatcher playerInfoBatcher = new PlayerInfoBatcher(this);
+    private final FutureChain chatBroadcastChain = new FutureChain(SystemUtils.backgroundExecutor());
 
     public PlayerList(MinecraftServer minecraftserver, LayeredRegistryAccess<RegistryLayer> layeredregistryaccess, WorldNBTStorage worldnbtstorage, int i) {
         this.bans = new GameProfileBanList(PlayerList.USERBANLIST_FILE);
@@ -223,9 +225,9 @@ public abstract class PlayerList {
         playerconnection.teleport(entityplayer.getX(), entityplayer.getY(), entityplayer.getZ(), entityplayer.getYRot(), entityplayer.getXRot());
         entityplayer.sendServerStatus(this.server.getStatus());
         entityplayer.connection.send(ClientboundPlayerInfoUpdatePacket.createPlayerInitializing(this.players));
+        this.playerInfoBatcher.onJoin(entityplayer, this.players);
         this.players.add(entityplayer);
         this.playersByUUID.put(entityplayer.getUUID(), entityplayer);
-        this.broadcastAll(ClientboundPlayerInfoUpdatePacket.createPlayerInitializing(List.of(entityplayer)));
         worldserver1.addNewPlayer(entityplayer);
         this.server.getCustomBossEvents().onPlayerConnect(entityplayer);
         this.sendLevelInfo(entityplayer, worldserver1);
@@ -415,7 +417,7 @@ public abstract class PlayerList {
             this.advancements.remove(uuid);
         }
 
-        this.broadcastAll(new ClientboundPlayerInfoRemovePacket(List.of(entityplayer.getUUID())));
+        this.playerInfoBatcher.onLeave(entityplayer);
     }
 
     @Nullable
@@ -563,11 +565,11 @@ public abstract class PlayerList {
     }
 
     public void tick() {
-        if (++this.sendAllPlayerInfoIn > 600) {
-            this.broadcastAll(new ClientboundPlayerInfoUpdatePacket(EnumSet.of(ClientboundPlayerInfoUpdatePacket.a.UPDATE_LATENCY), this.players));
-            this.sendAllPlayerInfoIn = 0;
-        }
+        this.playerInfoBatcher.tick();
+    }
 
+    public PlayerInfoBatcher getPlayerInfoBatcher() {
+        return this.playerInfoBatcher;
     }
 
     public void broadcastAll(Packet<?> packet) {
@@ -830,6 +832,7 @@ public abstract class PlayerList {
             ((EntityPlayer) this.players.get(i)).connection.disconnect(IChatBaseComponent.translatable("multiplayer.disconnect.server_shutdown"));
         }
 
+        this.chatBroadcastChain.close();
     }
 
     public void broadcastSystemMessage(IChatBaseComponent ichatbasecomponent, boolean flag) {
@@ -868,23 +871,33 @@ public abstract class PlayerList {
 
         this.server.logChatMessage(playerchatmessage.decoratedContent(), chatmessagetype_a, flag ? null : "Not Secure");
         OutgoingChatMessage outgoingchatmessage = OutgoingChatMessage.create(playerchatmessage);
+        List<EntityPlayer> list = List.copyOf(this.players);
+        boolean[] aboolean = new boolean[list.size()];
         boolean flag1 = false;
 
-        boolean flag2;
-
-        for (Iterator iterator = this.players.iterator(); iterator.hasNext(); flag1 |= flag2 && playerchatmessage.isFullyFiltered()) {
-            EntityPlayer entityplayer1 = (EntityPlayer) iterator.next();
-
-            flag2 = predicate.test(entityplayer1);
-            entityplayer1.sendChatMessage(outgoingchatmessage, flag2, chatmessagetype_a);
+        for (int i = 0; i < list.size(); ++i) {
+            aboolean[i] = predicate.test((EntityPlayer) list.get(i));
+            flag1 |= aboolean[i] && playerchatmessage.isFullyFiltered();
         }
 
+        this.queueChatMessage(() -> {
+            for (int j = 0; j < list.size(); ++j) {
+                ((EntityPlayer) list.get(j)).sendChatMessage(outgoingchatmessage, aboolean[j], chatmessagetype_a);
+            }
+
+        });
         if (flag1 && entityplayer != null) {
             entityplayer.sendSystemMessage(PlayerList.CHAT_FILTERED_FULL);
         }
 
     }
 
+    public void queueChatMessage(Runnable runnable) {
+        this.chatBroadcastChain.append((executor) -> {
+            return CompletableFuture.runAsync(runnable, executor);
+        });
+    }
+
     private boolean verifyChatTrusted(PlayerChatMessage playerchatmessage) {
         return playerchatmessage.hasSignature() && !playerchatmessage.hasExpiredServer(Instant.now());
     }
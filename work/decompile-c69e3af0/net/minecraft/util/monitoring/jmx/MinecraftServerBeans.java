@@ -1,8 +1,10 @@
 package net.minecraft.util.monitoring.jmx;
 
+import com.google.common.collect.Lists;
 import com.mojang.logging.LogUtils;
 import java.lang.management.ManagementFactory;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -24,7 +26,11 @@ import javax.management.MBeanRegistrationException;
 import javax.management.MalformedObjectNameException;
 import javax.management.NotCompliantMBeanException;
 import javax.management.ObjectName;
+import net.minecraft.network.PacketMetrics;
+import net.minecraft.network.protocol.EnumProtocolDirection;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.AdaptiveEntityTracker;
+import net.minecraft.server.level.WorldServer;
 import org.slf4j.Logger;
 
 public final class MinecraftServerBeans implements DynamicMBean {
@@ -35,7 +41,7 @@ public final class MinecraftServerBeans implements DynamicMBean {
     private final Map<String, MinecraftServerBeans.a> attributeDescriptionByName;
 
     private MinecraftServerBeans(MinecraftServer minecraftserver) {
-        this.attributeDescriptionByName = (Map) Stream.of(new MinecraftServerBeans.a("tickTimes", this::getTickTimes, "Historical tick times (ms)", long[].class), new MinecraftServerBeans.a("averageTickTime", this::getAverageTickTime, "Current average tick time (ms)", Long.TYPE)).collect(Collectors.toMap((minecraftserverbeans_a) -> {
+        this.attributeDescriptionByName = (Map) Stream.of(new MinecraftServerBeans.a("tickTimes", this::getTickTimes, "Historical tick times (ms)", long[].class), new MinecraftServerBeans.a("averageTickTime", this::getAverageTickTime, "Current average tick time (ms)", Long.TYPE), new MinecraftServerBeans.a("packetsSent", this::getPacketsSent, "Packets sent to clients", Long.TYPE), new MinecraftServerBeans.a("bytesSent", this::getBytesSent, "Bytes sent to clients before compression", Long.TYPE), new MinecraftServerBeans.a("wireBytesSent", this::getWireBytesSent, "Bytes sent to clients after compression", Long.TYPE), new MinecraftServerBeans.a("packetsReceived", this::getPacketsReceived, "Packets received from clients", Long.TYPE), new MinecraftServerBeans.a("bytesReceived", this::getBytesReceived, "Bytes received from clients after decompression", Long.TYPE), new MinecraftServerBeans.a("packetEncodeTimes", this::getPacketEncodeTimes, "Histogram of packet encode times (counts per power of two microseconds)", long[].class), new MinecraftServerBeans.a("packetCompressTimes", this::getPacketCompressTimes, "Histogram of packet compression times (counts per power of two microseconds)", long[].class), new MinecraftServerBeans.a("packetTypes", this::getPacketTypes, "Traffic per protocol and packet type, by bytes on the wire", String[].class), new MinecraftServerBeans.a("entityTrackerPressure", this::getEntityTrackerPressure, "Highest tick time pressure applied to adaptive entity tracking (0-1)", Float.TYPE), new MinecraftServerBeans.a("entityTrackerUpdates", this::getEntityTrackerUpdates, "Entity movement updates sent at full and at reduced rate", long[].class), new MinecraftServerBeans.a("entityTrackerBudgets", this::getEntityTrackerBudgets, "Per player bandwidth budget and effective tracking range", String[].class)).collect(Collectors.toMap((minecraftserverbeans_a) -> {
             return minecraftserverbeans_a.name;
         }, Function.identity()));
         this.server = minecraftserver;
@@ -63,6 +69,85 @@ public final class MinecraftServerBeans implements DynamicMBean {
         return this.server.tickTimes;
     }
 
+    private PacketMetrics getPacketMetrics() {
+        return this.server.getConnection().getPacketMetrics();
+    }
+
+    private long getPacketsSent() {
+        return this.getPacketMetrics().getTotalPackets(EnumProtocolDirection.CLIENTBOUND);
+    }
+
+    private long getBytesSent() {
+        return this.getPacketMetrics().getTotalBytes(EnumProtocolDirection.CLIENTBOUND);
+    }
+
+    private long getWireBytesSent() {
+        return this.getPacketMetrics().getTotalWireBytes(EnumProtocolDirection.CLIENTBOUND);
+    }
+
+    private long getPacketsReceived() {
+        return this.getPacketMetrics().getTotalPackets(EnumProtocolDirection.SERVERBOUND);
+    }
+
+    private long getBytesReceived() {
+        return this.getPacketMetrics().getTotalBytes(EnumProtocolDirection.SERVERBOUND);
+    }
+
+    private long[] getPacketEncodeTimes() {
+        return this.getPacketMetrics().getEncodeTime().getCounts();
+    }
+
+    private long[] getPacketCompressTimes() {
+        return this.getPacketMetrics().getCompressTime().getCounts();
+    }
+
+    private String[] getPacketTypes() {
+        return (String[]) this.getPacketMetrics().getPacketTypes().stream().map(PacketMetrics.PacketType::format).toArray((i) -> {
+            return new String[i];
+        });
+    }
+
+    private float getEntityTrackerPressure() {
+        float f = 0.0F;
+        Iterator iterator = this.server.getAllLevels().iterator();
+
+        while (iterator.hasNext()) {
+            WorldServer worldserver = (WorldServer) iterator.next();
+
+            f = Math.max(f, worldserver.getChunkSource().chunkMap.getAdaptiveTracker().getTickPressure());
+        }
+
+        return f;
+    }
+
+    private long[] getEntityTrackerUpdates() {
+        long[] along = new long[2];
+        Iterator iterator = this.server.getAllLevels().iterator();
+
+        while (iterator.hasNext()) {
+            WorldServer worldserver = (WorldServer) iterator.next();
+            AdaptiveEntityTracker adaptiveentitytracker = worldserver.getChunkSource().chunkMap.getAdaptiveTracker();
+
+            along[0] += adaptiveentitytracker.getFullRateUpdates();
+            along[1] += adaptiveentitytracker.getReducedRateUpdates();
+        }
+
+        return along;
+    }
+
+    private String[] getEntityTrackerBudgets() {
+        List<String> list = Lists.newArrayList();
+        Iterator iterator = this.server.getAllLevels().iterator();
+
+        while (iterator.hasNext()) {
+            WorldServer worldserver = (WorldServer) iterator.next();
+
+            list.addAll(worldserver.getChunkSource().chunkMap.getAdaptiveTracker().getReport());
+        }
+
+        return (String[]) list.toArray(new String[0]);
+    }
+
     @Nullable
     public Object getAttribute(String s) {
         MinecraftServerBeans.a minecraftserverbeans_a = (MinecraftServerBeans.a) this.attributeDescriptionByName.get(s);
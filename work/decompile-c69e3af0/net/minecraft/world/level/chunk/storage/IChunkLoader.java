@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import net.minecraft.SharedConstants;
@@ -91,6 +92,10 @@ public class IChunkLoader implements AutoCloseable {
         return this.worker.loadAsync(chunkcoordintpair);
     }
 
+    public CompletableFuture<Optional<NBTTagCompound>> read(ChunkCoordIntPair chunkcoordintpair, BooleanSupplier booleansupplier) {
+        return this.worker.loadAsync(chunkcoordintpair, booleansupplier);
+    }
+
     public void write(ChunkCoordIntPair chunkcoordintpair, NBTTagCompound nbttagcompound) {
         this.worker.store(chunkcoordintpair, nbttagcompound);
         if (this.legacyStructureHandler != null) {
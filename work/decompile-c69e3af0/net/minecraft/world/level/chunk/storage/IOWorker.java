@@ -11,8 +11,10 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
@@ -143,11 +145,19 @@ public class IOWorker implements ChunkScanAccess, AutoCloseable {
     }
 
     public CompletableFuture<Optional<NBTTagCompound>> loadAsync(ChunkCoordIntPair chunkcoordintpair) {
+        return this.loadAsync(chunkcoordintpair, () -> {
+            return false;
+        });
+    }
+
+    public CompletableFuture<Optional<NBTTagCompound>> loadAsync(ChunkCoordIntPair chunkcoordintpair, BooleanSupplier booleansupplier) {
         return this.submitTask(() -> {
             IOWorker.a ioworker_a = (IOWorker.a) this.pendingWrites.get(chunkcoordintpair);
 
             if (ioworker_a != null) {
                 return Either.left(Optional.ofNullable(ioworker_a.data));
+            } else if (booleansupplier.getAsBoolean()) {
+                return Either.right(new CancellationException("Cancelled read of chunk " + chunkcoordintpair));
             } else {
                 try {
                     NBTTagCompound nbttagcompound = this.storage.read(chunkcoordintpair);
@@ -1,8 +1,11 @@
 package net.minecraft.world.level.storage;
 
+import com.google.common.collect.Maps;
 import com.mojang.datafixers.DataFixer;
 import com.mojang.logging.LogUtils;
 import java.io.File;
+import java.util.Map;
+import java.util.UUID;
 import javax.annotation.Nullable;
 import net.minecraft.SystemUtils;
 import net.minecraft.nbt.GameProfileSerializer;
@@ -17,6 +20,7 @@ public class WorldNBTStorage {
     private static final Logger LOGGER = LogUtils.getLogger();
     private final File playerDir;
     protected final DataFixer fixerUpper;
+    private final Map<UUID, WorldNBTStorage.a> prefetched = Maps.newConcurrentMap();
 
     public WorldNBTStorage(Convertable.ConversionSession convertable_conversionsession, DataFixer datafixer) {
         this.fixerUpper = datafixer;
@@ -25,6 +29,8 @@ public class WorldNBTStorage {
     }
 
     public void save(EntityHuman entityhuman) {
+        this.prefetched.remove(entityhuman.getUUID());
+
         try {
             NBTTagCompound nbttagcompound = entityhuman.saveWithoutId(new NBTTagCompound());
             File file = File.createTempFile(entityhuman.getStringUUID() + "-", ".dat", this.playerDir);
@@ -43,24 +49,54 @@ public class WorldNBTStorage {
     @Nullable
     public NBTTagCompound load(EntityHuman entityhuman) {
         NBTTagCompound nbttagcompound = null;
+        File file = new File(this.playerDir, entityhuman.getStringUUID() + ".dat");
+        WorldNBTStorage.a worldnbtstorage_a = (WorldNBTStorage.a) this.prefetched.remove(entityhuman.getUUID());
+
+        if (worldnbtstorage_a != null && worldnbtstorage_a.matches(file)) {
+            entityhuman.load(worldnbtstorage_a.fixed());
+            return worldnbtstorage_a.raw();
+        } else {
+            try {
+                if (file.exists() && file.isFile()) {
+                    nbttagcompound = NBTCompressedStreamTools.readCompressed(file);
+                }
+            } catch (Exception exception) {
+                WorldNBTStorage.LOGGER.warn("Failed to load player data for {}", entityhuman.getName().getString());
+            }
 
-        try {
-            File file = new File(this.playerDir, entityhuman.getStringUUID() + ".dat");
+            if (nbttagcompound != null) {
+                entityhuman.load(this.update(nbttagcompound));
+            }
+
+            return nbttagcompound;
+        }
+    }
+
+    private NBTTagCompound update(NBTTagCompound nbttagcompound) {
+        int i = nbttagcompound.contains("DataVersion", 3) ? nbttagcompound.getInt("DataVersion") : -1;
+
+        return GameProfileSerializer.update(this.fixerUpper, DataFixTypes.PLAYER, nbttagcompound, i);
+    }
 
+    public void prefetch(UUID uuid) {
+        File file = new File(this.playerDir, uuid + ".dat");
+
+        try {
             if (file.exists() && file.isFile()) {
-                nbttagcompound = NBTCompressedStreamTools.readCompressed(file);
+                long i = file.lastModified();
+                long j = file.length();
+                NBTTagCompound nbttagcompound = NBTCompressedStreamTools.readCompressed(file);
+
+                this.prefetched.put(uuid, new WorldNBTStorage.a(i, j, nbttagcompound, this.update(nbttagcompound.copy())));
             }
         } catch (Exception exception) {
-            WorldNBTStorage.LOGGER.warn("Failed to load player data for {}", entityhuman.getName().getString());
+            WorldNBTStorage.LOGGER.debug("Failed to prefetch player data for {}", uuid, exception);
         }
 
-        if (nbttagcompound != null) {
-            int i = nbttagcompound.contains("DataVersion", 3) ? nbttagcompound.getInt("DataVersion") : -1;
-
-            entityhuman.load(GameProfileSerializer.update(this.fixerUpper, DataFixTypes.PLAYER, nbttagcompound, i));
-        }
+    }
 
-        return nbttagcompound;
+    public void discardPrefetched(UUID uuid) {
+        this.prefetched.remove(uuid);
     }
 
     public String[] getSeenPlayers() {
@@ -78,4 +114,11 @@ public class WorldNBTStorage {
 
         return astring;
     }
+
+    private static record a(long lastModified, long length, NBTTagCompound raw, NBTTagCompound fixed) {
+
+        boolean matches(File file) {
+            return file.isFile() && file.lastModified() == this.lastModified && file.length() == this.length;
+        }
+    }
 }